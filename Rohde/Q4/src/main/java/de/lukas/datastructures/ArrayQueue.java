@@ -0,0 +1,237 @@
+package de.lukas.datastructures;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Generische Queue (Warteschlange) als Ringpuffer in einem Array.
+ * Arbeitet nach dem FIFO-Prinzip (First In, First Out) und bietet dieselben Operationen
+ * wie {@link Queue}, legt aber keinen {@link Node} pro Element an.
+ * <p>
+ * Die Kapazität ist immer eine Zweierpotenz, sodass die Position im Ring mit einer
+ * Bitmaske statt einer Division berechnet wird. Ist der Puffer voll, wird er verdoppelt
+ * (amortisiert O(1) pro Einfügen). Auf Wunsch wird er wieder verkleinert, sobald er nur
+ * noch zu weniger als einem Viertel gefüllt ist.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class ArrayQueue<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int minCapacity;
+    private final boolean shrink;
+    private Object[] elements;
+    private int mask;
+    private int head;
+    private int size;
+
+    /**
+     * Erstellt eine leere Warteschlange mit Standardkapazität, die nicht schrumpft.
+     */
+    public ArrayQueue() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Erstellt eine leere Warteschlange.
+     *
+     * @param initialCapacity Anfangskapazität, wird auf die nächste Zweierpotenz aufgerundet
+     * @param shrink          true, wenn der Puffer bei einem Füllstand unter einem Viertel
+     *                        verkleinert werden soll (nie unter die Anfangskapazität)
+     * @throws IllegalArgumentException wenn die Anfangskapazität negativ ist
+     */
+    public ArrayQueue(int initialCapacity, boolean shrink) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative Kapazität: " + initialCapacity);
+        }
+        this.minCapacity = powerOfTwoAtLeast(Math.max(initialCapacity, 2));
+        this.shrink = shrink;
+        this.elements = new Object[minCapacity];
+        this.mask = minCapacity - 1;
+    }
+
+    /**
+     * Prüft, ob die Warteschlange leer ist.
+     *
+     * @return true, wenn die Warteschlange leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück.
+     *
+     * @return Anzahl der Elemente in der Warteschlange
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Fügt ein Element am Ende der Warteschlange ein.
+     *
+     * @param content Das einzufügende Element
+     * @throws IllegalStateException wenn die Warteschlange schon 2^30 Elemente enthält
+     */
+    public void enqueue(T content) {
+        if (size == elements.length) {
+            if (elements.length == MAX_CAPACITY) {
+                // Verdoppeln liefe über und ergäbe eine negative Länge
+                throw new IllegalStateException("Warteschlange ist voll");
+            }
+            resize(elements.length << 1);
+        }
+        elements[(head + size) & mask] = content;
+        size++;
+    }
+
+    /**
+     * Fügt alle Elemente einer Collection in ihrer Iterationsreihenfolge am Ende ein.
+     * Der Puffer wächst dabei höchstens einmal.
+     *
+     * @param contents Die einzufügenden Elemente
+     * @throws IllegalStateException wenn dadurch mehr als 2^30 Elemente enthalten wären
+     */
+    public void enqueueAll(Collection<? extends T> contents) {
+        copyIn(contents.toArray());
+    }
+
+    /**
+     * Fügt alle Elemente eines Arrays in ihrer Reihenfolge am Ende ein.
+     * Der Puffer wächst dabei höchstens einmal.
+     *
+     * @param contents Die einzufügenden Elemente
+     * @throws IllegalStateException wenn dadurch mehr als 2^30 Elemente enthalten wären
+     */
+    public void enqueueAll(T[] contents) {
+        copyIn(contents);
+    }
+
+    /**
+     * Entfernt das erste Element der Warteschlange und gibt es zurück.
+     *
+     * @return Das entfernte Element oder null, wenn die Warteschlange leer ist
+     */
+    public T dequeue() {
+        if (size == 0) {
+            return null;
+        }
+
+        T content = elementAt(head);
+        elements[head] = null;
+        head = (head + 1) & mask;
+        size--;
+        shrinkIfSparse();
+        return content;
+    }
+
+    /**
+     * Entfernt alle Elemente und fügt sie in FIFO-Reihenfolge in {@code target} ein.
+     *
+     * @param target Ziel der entnommenen Elemente
+     * @return Anzahl der entnommenen Elemente
+     */
+    public int drainTo(Collection<? super T> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Entfernt bis zu {@code maxElements} Elemente vom Anfang und fügt sie in
+     * FIFO-Reihenfolge in {@code target} ein.
+     *
+     * @param target      Ziel der entnommenen Elemente
+     * @param maxElements Höchstzahl der zu entnehmenden Elemente
+     * @return Anzahl der entnommenen Elemente
+     */
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        int count = Math.min(Math.max(maxElements, 0), size);
+        for (int i = 0; i < count; i++) {
+            target.add(elementAt((head + i) & mask));
+        }
+        clear(head, count);
+        head = (head + count) & mask;
+        size -= count;
+        shrinkIfSparse();
+        return count;
+    }
+
+    /**
+     * Gibt das erste Element der Warteschlange zurück, ohne es zu entfernen.
+     *
+     * @return Das erste Element oder null, wenn die Warteschlange leer ist
+     */
+    public T front() {
+        if (size == 0) {
+            return null;
+        }
+        return elementAt(head);
+    }
+
+    private void copyIn(Object[] contents) {
+        int count = contents.length;
+        if (count > MAX_CAPACITY - size) {
+            throw new IllegalStateException("Warteschlange ist voll");
+        }
+        if (size + count > elements.length) {
+            resize(powerOfTwoAtLeast(size + count));
+        }
+
+        int tail = (head + size) & mask;
+        int firstPart = Math.min(count, elements.length - tail);
+        System.arraycopy(contents, 0, elements, tail, firstPart);
+        System.arraycopy(contents, firstPart, elements, 0, count - firstPart);
+        size += count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) elements[index];
+    }
+
+    /**
+     * Setzt {@code count} Plätze ab {@code from} (im Ring) auf null, damit die entnommenen
+     * Elemente vom Garbage Collector freigegeben werden können.
+     */
+    private void clear(int from, int count) {
+        int firstPart = Math.min(count, elements.length - from);
+        Arrays.fill(elements, from, from + firstPart, null);
+        Arrays.fill(elements, 0, count - firstPart, null);
+    }
+
+    /**
+     * Verkleinert den Puffer auf das Doppelte des Füllstands, wenn er weniger als zu einem
+     * Viertel gefüllt ist. Der Abstand zwischen Wachsen und Schrumpfen verhindert, dass
+     * abwechselndes Einfügen und Entnehmen an der Grenze ständig umkopiert.
+     */
+    private void shrinkIfSparse() {
+        if (shrink && elements.length > minCapacity && size < elements.length >>> 2) {
+            resize(Math.max(minCapacity, powerOfTwoAtLeast(size << 1)));
+        }
+    }
+
+    /**
+     * Kopiert die Elemente in ein neues Array der Länge {@code capacity}, beginnend bei Index 0.
+     */
+    private void resize(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Warteschlange ist voll");
+        }
+        Object[] resized = new Object[capacity];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, resized, 0, firstPart);
+        System.arraycopy(elements, 0, resized, firstPart, size - firstPart);
+        elements = resized;
+        mask = capacity - 1;
+        head = 0;
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        if (value > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Kapazität zu groß: " + value);
+        }
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
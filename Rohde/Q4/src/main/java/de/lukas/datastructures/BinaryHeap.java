@@ -0,0 +1,368 @@
+package de.lukas.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Vorrangwarteschlange (Priority Queue) als binärer Min-Heap in Arrays.
+ * Entnommen wird immer das Element mit der kleinsten Priorität; bei gleicher Priorität ist
+ * die Reihenfolge nicht festgelegt.
+ * <p>
+ * Die Prioritäten sind {@code long}-Werte und liegen in einem eigenen {@code long[]}, sodass
+ * ein Vergleich weder ein {@link Comparable} aufruft noch etwas anlegt. Jedes Element darf
+ * höchstens einmal enthalten sein (nach {@link Object#equals}).
+ * </p>
+ * <p>
+ * Für {@link #decreaseKey} merkt sich der Heap in einer Hashtabelle mit offener Adressierung,
+ * an welcher Position jedes Element steht. Umgekehrt kennt jede Heap-Position den Platz ihres
+ * Elements in der Tabelle, sodass das Verschieben im Heap die Tabelle ohne erneutes Hashen
+ * aktualisiert. {@link #contains}, {@link #decreaseKey} und {@link #remove} kosten damit
+ * O(1) für das Finden und O(log n) für das Wiederherstellen der Heap-Eigenschaft.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class BinaryHeap<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    /** Heap in Array-Form: die Kinder von i liegen bei 2i+1 und 2i+2. */
+    private Object[] elements;
+    private long[] priorities;
+    /** Platz des Elements an jeder Heap-Position in {@code mapKeys}. */
+    private int[] slots;
+    private int size;
+
+    /** Hashtabelle Element -> Heap-Position, höchstens halb voll. */
+    private Object[] mapKeys;
+    private int[] mapPositions;
+    private int mapMask;
+
+    /**
+     * Erstellt einen leeren Heap mit Standardkapazität.
+     */
+    public BinaryHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Erstellt einen leeren Heap.
+     *
+     * @param initialCapacity Anfangskapazität
+     * @throws IllegalArgumentException wenn die Anfangskapazität negativ oder größer als 2^29 ist
+     */
+    public BinaryHeap(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Ungültige Kapazität: " + initialCapacity);
+        }
+        int capacity = Math.max(initialCapacity, 2);
+        this.elements = new Object[capacity];
+        this.priorities = new long[capacity];
+        this.slots = new int[capacity];
+        int tableSize = Integer.highestOneBit(capacity - 1) << 2;
+        this.mapKeys = new Object[tableSize];
+        this.mapPositions = new int[tableSize];
+        this.mapMask = tableSize - 1;
+    }
+
+    /**
+     * Prüft, ob der Heap leer ist.
+     *
+     * @return true, wenn der Heap leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück.
+     *
+     * @return Anzahl der Elemente im Heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Fügt ein Element mit der angegebenen Priorität ein.
+     *
+     * @param element  Das einzufügende Element
+     * @param priority Seine Priorität, kleinere Werte werden zuerst entnommen
+     * @return true, wenn das Element eingefügt wurde, false wenn es schon enthalten ist
+     * @throws NullPointerException wenn {@code element} null ist
+     */
+    public boolean insert(T element, long priority) {
+        Objects.requireNonNull(element, "element");
+        int slot = findSlot(element);
+        if (mapKeys[slot] != null) {
+            return false;
+        }
+        if (size == elements.length) {
+            grow();
+            slot = findSlot(element);
+        }
+
+        mapKeys[slot] = element;
+        int index = size++;
+        elements[index] = element;
+        priorities[index] = priority;
+        slots[index] = slot;
+        mapPositions[slot] = index;
+        siftUp(index);
+        return true;
+    }
+
+    /**
+     * Gibt das Element mit der kleinsten Priorität zurück, ohne es zu entfernen.
+     *
+     * @return Das Element oder null, wenn der Heap leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public T min() {
+        return size == 0 ? null : (T) elements[0];
+    }
+
+    /**
+     * Gibt die kleinste Priorität zurück.
+     *
+     * @return Priorität von {@link #min()}
+     * @throws NoSuchElementException wenn der Heap leer ist
+     */
+    public long minPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap ist leer");
+        }
+        return priorities[0];
+    }
+
+    /**
+     * Entfernt das Element mit der kleinsten Priorität und gibt es zurück.
+     *
+     * @return Das entfernte Element oder null, wenn der Heap leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public T extractMin() {
+        if (size == 0) {
+            return null;
+        }
+        T element = (T) elements[0];
+        removeAt(0);
+        return element;
+    }
+
+    /**
+     * Prüft, ob ein Element enthalten ist.
+     *
+     * @param element Das gesuchte Element
+     * @return true, wenn das Element enthalten ist, sonst false
+     */
+    public boolean contains(T element) {
+        return element != null && mapKeys[findSlot(element)] != null;
+    }
+
+    /**
+     * Gibt die Priorität eines enthaltenen Elements zurück.
+     *
+     * @param element Das gesuchte Element
+     * @return Seine Priorität
+     * @throws NoSuchElementException wenn das Element nicht enthalten ist
+     */
+    public long priorityOf(T element) {
+        return priorities[indexOf(element)];
+    }
+
+    /**
+     * Senkt die Priorität eines enthaltenen Elements.
+     *
+     * @param element  Das Element
+     * @param priority Die neue Priorität, höchstens so groß wie die bisherige
+     * @throws NoSuchElementException   wenn das Element nicht enthalten ist
+     * @throws IllegalArgumentException wenn die neue Priorität größer als die bisherige ist
+     */
+    public void decreaseKey(T element, long priority) {
+        int index = indexOf(element);
+        if (priority > priorities[index]) {
+            throw new IllegalArgumentException("Neue Priorität " + priority + " ist größer als "
+                    + priorities[index]);
+        }
+        priorities[index] = priority;
+        siftUp(index);
+    }
+
+    /**
+     * Entfernt ein Element unabhängig von seiner Priorität.
+     *
+     * @param element Das zu entfernende Element
+     * @return true, wenn das Element entfernt wurde, false wenn es nicht enthalten ist
+     */
+    public boolean remove(T element) {
+        if (element == null) {
+            return false;
+        }
+        int slot = findSlot(element);
+        if (mapKeys[slot] == null) {
+            return false;
+        }
+        removeAt(mapPositions[slot]);
+        return true;
+    }
+
+    private int indexOf(T element) {
+        if (element != null) {
+            int slot = findSlot(element);
+            if (mapKeys[slot] != null) {
+                return mapPositions[slot];
+            }
+        }
+        throw new NoSuchElementException("Element nicht im Heap: " + element);
+    }
+
+    /**
+     * Entfernt das Element an Heap-Position {@code index}: das letzte Element rückt an seine
+     * Stelle und wird nach oben oder unten verschoben.
+     */
+    private void removeAt(int index) {
+        deleteSlot(slots[index]);
+        int last = --size;
+        if (index != last) {
+            move(last, index);
+            if (!siftUp(index)) {
+                siftDown(index);
+            }
+        }
+        elements[last] = null;
+    }
+
+    /**
+     * Verschiebt das Element an {@code index} nach oben, solange es kleiner als sein
+     * Elternknoten ist.
+     *
+     * @return true, wenn es verschoben wurde
+     */
+    private boolean siftUp(int index) {
+        int start = index;
+        Object element = elements[index];
+        long priority = priorities[index];
+        int slot = slots[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        if (index != start) {
+            place(element, priority, slot, index);
+            return true;
+        }
+        return false;
+    }
+
+    private void siftDown(int index) {
+        Object element = elements[index];
+        long priority = priorities[index];
+        int slot = slots[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && priorities[right] < priorities[child]) {
+                child = right;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        place(element, priority, slot, index);
+    }
+
+    /**
+     * Kopiert das Element von Heap-Position {@code from} nach {@code to} und trägt die neue
+     * Position in die Tabelle ein.
+     */
+    private void move(int from, int to) {
+        elements[to] = elements[from];
+        priorities[to] = priorities[from];
+        slots[to] = slots[from];
+        mapPositions[slots[to]] = to;
+    }
+
+    private void place(Object element, long priority, int slot, int index) {
+        elements[index] = element;
+        priorities[index] = priority;
+        slots[index] = slot;
+        mapPositions[slot] = index;
+    }
+
+    /**
+     * Sucht den Platz von {@code element} in der Tabelle (lineares Sondieren), oder den freien
+     * Platz, an den es gehört.
+     */
+    private int findSlot(Object element) {
+        int slot = spread(element.hashCode()) & mapMask;
+        Object key;
+        while ((key = mapKeys[slot]) != null && !key.equals(element)) {
+            slot = (slot + 1) & mapMask;
+        }
+        return slot;
+    }
+
+    /**
+     * Leert einen Platz der Tabelle. Nachfolgende Einträge derselben Sondierungskette rücken
+     * nach, damit keine Löcher die Suche abbrechen (Backward Shift statt Grabsteinen); der
+     * Heap erfährt ihren neuen Platz über {@code slots}.
+     */
+    private void deleteSlot(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mapMask;
+            Object key = mapKeys[slot];
+            if (key == null) {
+                break;
+            }
+            int home = spread(key.hashCode()) & mapMask;
+            // Eintrag darf in das Loch, wenn sein Heimatplatz nicht zwischen Loch und Platz liegt
+            if (((slot - home) & mapMask) >= ((slot - hole) & mapMask)) {
+                mapKeys[hole] = key;
+                mapPositions[hole] = mapPositions[slot];
+                slots[mapPositions[hole]] = hole;
+                hole = slot;
+            }
+        }
+        mapKeys[hole] = null;
+    }
+
+    /**
+     * Verdoppelt den Heap und baut die Tabelle in doppelter Größe neu auf.
+     */
+    private void grow() {
+        if (elements.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Heap ist voll");
+        }
+        int capacity = Math.min(MAX_CAPACITY, elements.length << 1);
+        elements = Arrays.copyOf(elements, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+
+        int tableSize = Integer.highestOneBit(capacity - 1) << 2;
+        mapKeys = new Object[tableSize];
+        mapPositions = new int[tableSize];
+        mapMask = tableSize - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = findSlot(elements[i]);
+            mapKeys[slot] = elements[i];
+            mapPositions[slot] = i;
+            slots[i] = slot;
+        }
+    }
+
+    /** Verteilt schwache Hashcodes (etwa aufeinanderfolgende Zahlen) auf die unteren Bits. */
+    private static int spread(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
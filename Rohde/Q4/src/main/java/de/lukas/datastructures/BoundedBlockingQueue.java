@@ -0,0 +1,298 @@
+package de.lukas.datastructures;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-sichere, blockierende Queue (Warteschlange) fester Größe als Ringpuffer.
+ * Arbeitet nach dem FIFO-Prinzip (First In, First Out). Statt bei leerer Warteschlange
+ * {@code null} zu liefern und den Verbraucher im Kreis fragen zu lassen, wartet
+ * {@link #take} schlafend auf das nächste Element; ebenso wartet {@link #put}, solange die
+ * Warteschlange voll ist.
+ * <p>
+ * Alle Zugriffe laufen unter einer Sperre. Geweckt wird nur, wer tatsächlich wartet: jede
+ * Seite zählt ihre schlafenden Threads, und ein Einfügen oder Entnehmen signalisiert nur,
+ * wenn auf der Gegenseite jemand schläft. Bei ständig gefüllter Warteschlange kostet ein
+ * Element also kein Signal. {@link #drainTo} entnimmt viele Elemente unter einer einzigen
+ * Sperre und weckt die wartenden Erzeuger danach einmal gemeinsam.
+ * </p>
+ * <p>
+ * {@code null} kann nicht eingefügt werden, weil {@link #poll()} damit "nichts da" meldet.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class BoundedBlockingQueue<T> {
+    private final Object[] elements;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** Folgende Felder nur unter {@code lock} lesen und schreiben. */
+    private int head;
+    private int size;
+    private int waitingConsumers;
+    private int waitingProducers;
+
+    /**
+     * Erstellt eine leere Warteschlange.
+     *
+     * @param capacity Anzahl der Plätze
+     * @throws IllegalArgumentException wenn die Kapazität kleiner als 1 ist
+     */
+    public BoundedBlockingQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Kapazität muss mindestens 1 sein: " + capacity);
+        }
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * Gibt die Anzahl der Plätze zurück.
+     *
+     * @return Kapazität der Warteschlange
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück. Bei gleichzeitigen Zugriffen ist das Ergebnis
+     * nur eine Momentaufnahme.
+     *
+     * @return Anzahl der Elemente in der Warteschlange
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prüft, ob die Warteschlange leer ist. Bei gleichzeitigen Zugriffen ist das Ergebnis
+     * nur eine Momentaufnahme.
+     *
+     * @return true, wenn die Warteschlange leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Fügt ein Element am Ende ein und wartet dafür, solange die Warteschlange voll ist.
+     *
+     * @param content Das einzufügende Element
+     * @throws NullPointerException wenn {@code content} null ist
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wird
+     */
+    public void put(T content) throws InterruptedException {
+        Objects.requireNonNull(content, "content");
+        lock.lockInterruptibly();
+        try {
+            while (size == elements.length) {
+                waitingProducers++;
+                try {
+                    notFull.await();
+                } finally {
+                    waitingProducers--;
+                }
+            }
+            insert(content);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fügt ein Element am Ende ein, wenn noch Platz ist, ohne zu warten.
+     *
+     * @param content Das einzufügende Element
+     * @return true, wenn das Element eingefügt wurde, false wenn die Warteschlange voll ist
+     * @throws NullPointerException wenn {@code content} null ist
+     */
+    public boolean offer(T content) {
+        Objects.requireNonNull(content, "content");
+        lock.lock();
+        try {
+            if (size == elements.length) {
+                return false;
+            }
+            insert(content);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fügt ein Element am Ende ein und wartet dafür höchstens die angegebene Zeit auf Platz.
+     *
+     * @param content Das einzufügende Element
+     * @param timeout Wartezeit
+     * @param unit    Einheit von {@code timeout}
+     * @return true, wenn das Element eingefügt wurde, false wenn die Zeit abgelaufen ist
+     * @throws NullPointerException wenn {@code content} null ist
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wird
+     */
+    public boolean offer(T content, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(content, "content");
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == elements.length) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                waitingProducers++;
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } finally {
+                    waitingProducers--;
+                }
+            }
+            insert(content);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entfernt das erste Element und gibt es zurück; wartet dafür, solange die
+     * Warteschlange leer ist.
+     *
+     * @return Das entfernte Element
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wird
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                waitingConsumers++;
+                try {
+                    notEmpty.await();
+                } finally {
+                    waitingConsumers--;
+                }
+            }
+            return extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entfernt das erste Element und gibt es zurück, ohne zu warten.
+     *
+     * @return Das entfernte Element oder null, wenn die Warteschlange leer ist
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entfernt das erste Element und gibt es zurück; wartet dafür höchstens die angegebene
+     * Zeit.
+     *
+     * @param timeout Wartezeit
+     * @param unit    Einheit von {@code timeout}
+     * @return Das entfernte Element oder null, wenn die Zeit abgelaufen ist
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wird
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                waitingConsumers++;
+                try {
+                    nanos = notEmpty.awaitNanos(nanos);
+                } finally {
+                    waitingConsumers--;
+                }
+            }
+            return extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entfernt bis zu {@code maxElements} Elemente vom Anfang und fügt sie in
+     * FIFO-Reihenfolge in {@code target} ein, ohne zu warten.
+     *
+     * @param target      Ziel der entnommenen Elemente
+     * @param maxElements Höchstzahl der zu entnehmenden Elemente
+     * @return Anzahl der entnommenen Elemente, 0 wenn die Warteschlange leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        lock.lock();
+        try {
+            int count = Math.min(Math.max(maxElements, 0), size);
+            for (int i = 0; i < count; i++) {
+                target.add((T) elements[head]);
+                elements[head] = null;
+                head = head + 1 == elements.length ? 0 : head + 1;
+                size--;
+            }
+            if (count > 0 && waitingProducers > 0) {
+                // es sind count Plätze frei geworden
+                if (count >= waitingProducers) {
+                    notFull.signalAll();
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        notFull.signal();
+                    }
+                }
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fügt ein Element ein; die Warteschlange ist nicht voll und {@code lock} gehalten.
+     */
+    private void insert(T content) {
+        int tail = head + size;
+        if (tail >= elements.length) {
+            tail -= elements.length;
+        }
+        elements[tail] = content;
+        size++;
+        if (waitingConsumers > 0) {
+            notEmpty.signal();
+        }
+    }
+
+    /**
+     * Entnimmt das erste Element; die Warteschlange ist nicht leer und {@code lock} gehalten.
+     */
+    @SuppressWarnings("unchecked")
+    private T extract() {
+        T content = (T) elements[head];
+        elements[head] = null;
+        head = head + 1 == elements.length ? 0 : head + 1;
+        size--;
+        if (waitingProducers > 0) {
+            notFull.signal();
+        }
+        return content;
+    }
+}
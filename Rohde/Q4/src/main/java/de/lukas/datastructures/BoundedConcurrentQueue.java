@@ -0,0 +1,142 @@
+package de.lukas.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * Thread-sichere, lock-freie Queue (Warteschlange) fester Größe für beliebig viele
+ * Erzeuger und Verbraucher (MPMC), nach dem Ringpuffer von Dmitry Vyukov.
+ * Arbeitet nach dem FIFO-Prinzip (First In, First Out).
+ * <p>
+ * Jeder Platz im Ring hat eine Sequenznummer, die anzeigt, ob er für die Einfüge-Position
+ * {@code pos} frei ist ({@code sequence == pos}) oder das Element von {@code pos} enthält
+ * ({@code sequence == pos + 1}). Ein Thread reserviert eine Position mit einem einzigen
+ * Compare-and-Set auf dem Zähler und veröffentlicht danach Element und Sequenznummer.
+ * Es gibt keine Knoten, nach dem Anlegen wird also nichts mehr allokiert.
+ * </p>
+ * <p>
+ * {@code null} kann nicht eingefügt werden, weil {@code null} eine leere Warteschlange anzeigt.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class BoundedConcurrentQueue<T> {
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ENQUEUE_POSITION;
+    private static final VarHandle DEQUEUE_POSITION;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ENQUEUE_POSITION = lookup.findVarHandle(BoundedConcurrentQueue.class, "enqueuePosition", long.class);
+            DEQUEUE_POSITION = lookup.findVarHandle(BoundedConcurrentQueue.class, "dequeuePosition", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] elements;
+    private final long[] sequences;
+    private final int mask;
+    private volatile long enqueuePosition;
+    private volatile long dequeuePosition;
+
+    /**
+     * Erstellt eine leere Warteschlange.
+     *
+     * @param capacity Anzahl der Plätze, wird auf die nächste Zweierpotenz aufgerundet
+     * @throws IllegalArgumentException wenn die Kapazität kleiner als 2 oder größer als 2^30 ist
+     */
+    public BoundedConcurrentQueue(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Kapazität muss zwischen 2 und 2^30 liegen: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new long[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences[i] = i;
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Plätze zurück.
+     *
+     * @return Kapazität der Warteschlange
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Prüft, ob die Warteschlange leer ist. Bei gleichzeitigen Zugriffen ist das Ergebnis
+     * nur eine Momentaufnahme.
+     *
+     * @return true, wenn die Warteschlange leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return dequeuePosition >= enqueuePosition;
+    }
+
+    /**
+     * Fügt ein Element am Ende der Warteschlange ein, wenn noch Platz ist.
+     *
+     * @param content Das einzufügende Element
+     * @return true, wenn das Element eingefügt wurde, false wenn die Warteschlange voll ist
+     * @throws NullPointerException wenn {@code content} null ist
+     */
+    public boolean enqueue(T content) {
+        Objects.requireNonNull(content, "content");
+        long position = enqueuePosition;
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = (long) SEQUENCE.getAcquire(sequences, index);
+            long difference = sequence - position;
+            if (difference == 0) {
+                if (ENQUEUE_POSITION.compareAndSet(this, position, position + 1)) {
+                    elements[index] = content;
+                    SEQUENCE.setRelease(sequences, index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition;
+            } else if (difference < 0) {
+                // Der Platz enthält noch das Element der vorigen Runde
+                return false;
+            } else {
+                position = enqueuePosition;
+            }
+        }
+    }
+
+    /**
+     * Entfernt das erste Element der Warteschlange und gibt es zurück.
+     *
+     * @return Das entfernte Element oder null, wenn die Warteschlange leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        long position = dequeuePosition;
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = (long) SEQUENCE.getAcquire(sequences, index);
+            long difference = sequence - (position + 1);
+            if (difference == 0) {
+                if (DEQUEUE_POSITION.compareAndSet(this, position, position + 1)) {
+                    T content = (T) elements[index];
+                    elements[index] = null;
+                    // Platz für die Einfüge-Position der nächsten Runde freigeben
+                    SEQUENCE.setRelease(sequences, index, position + mask + 1);
+                    return content;
+                }
+                position = dequeuePosition;
+            } else if (difference < 0) {
+                // Das Element dieser Position ist noch nicht veröffentlicht
+                return null;
+            } else {
+                position = dequeuePosition;
+            }
+        }
+    }
+}
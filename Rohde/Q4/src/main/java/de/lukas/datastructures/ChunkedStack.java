@@ -0,0 +1,148 @@
+package de.lukas.datastructures;
+
+/**
+ * Generischer Stack (Stapel), dessen Elemente in verketteten Array-Blöcken liegen.
+ * Arbeitet nach dem LIFO-Prinzip (Last In, First Out) und bietet dieselben Operationen
+ * wie {@link Stack}, legt aber keinen {@link Node} pro Element an.
+ * <p>
+ * Ist der oberste Block voll, wird ein neuer Block davor gehängt; vorhandene Elemente werden
+ * nie umkopiert. Die Blöcke wachsen von {@value #FIRST_CHUNK} bis {@value #MAX_CHUNK}
+ * Plätzen, sodass kleine Stapel wenig Speicher belegen und große wenige Blöcke brauchen.
+ * </p>
+ * <p>
+ * Ein leerer oberster Block wird erst abgenommen, wenn {@link #pop} den Block darunter
+ * braucht, und dann nur als Reserve für den nächsten Überlauf behalten; ältere Reserven gibt
+ * der Stapel frei. Abwechselndes {@link #push} und {@link #pop} an einer Blockgrenze wechselt
+ * so nie den Block.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class ChunkedStack<T> {
+    private static final int FIRST_CHUNK = 16;
+    private static final int MAX_CHUNK = 4096;
+
+    /** Oberster Block, null solange noch nichts eingefügt wurde. */
+    private Chunk top;
+    /** Anzahl der belegten Plätze in {@code top}. */
+    private int topCount;
+    /** Zuletzt frei gewordener Block, wird beim nächsten Überlauf wiederverwendet. */
+    private Chunk spare;
+    private int size;
+
+    /**
+     * Erstellt einen leeren Stapel.
+     */
+    public ChunkedStack() {
+        this.top = null;
+    }
+
+    /**
+     * Prüft, ob der Stapel leer ist.
+     *
+     * @return true, wenn der Stapel leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück.
+     *
+     * @return Anzahl der Elemente auf dem Stapel
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Legt ein Element oben auf den Stapel.
+     *
+     * @param content Das einzufügende Element
+     */
+    public void push(T content) {
+        if (top == null || topCount == top.elements.length) {
+            pushChunk();
+        }
+        top.elements[topCount++] = content;
+        size++;
+    }
+
+    /**
+     * Entfernt das oberste Element vom Stapel und gibt es zurück.
+     *
+     * @return Das entfernte Element oder null, wenn der Stapel leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        if (topCount == 0) {
+            popChunk();
+        }
+        Object[] elements = top.elements;
+        T content = (T) elements[--topCount];
+        elements[topCount] = null;
+        size--;
+        return content;
+    }
+
+    /**
+     * Gibt das oberste Element des Stapels zurück, ohne es zu entfernen.
+     *
+     * @return Das oberste Element oder null, wenn der Stapel leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public T top() {
+        if (isEmpty()) {
+            return null;
+        }
+        if (topCount == 0) {
+            Object[] below = top.below.elements;
+            return (T) below[below.length - 1];
+        }
+        return (T) top.elements[topCount - 1];
+    }
+
+    /**
+     * Legt einen neuen (oder den Reserve-)Block oben auf.
+     */
+    private void pushChunk() {
+        Chunk chunk = spare;
+        if (chunk != null) {
+            spare = null;
+        } else {
+            int length = top == null ? FIRST_CHUNK : Math.min(top.elements.length << 1, MAX_CHUNK);
+            chunk = new Chunk(length);
+        }
+        chunk.below = top;
+        top = chunk;
+        topCount = 0;
+    }
+
+    /**
+     * Nimmt den leeren obersten Block ab; der darunterliegende Block ist voll. Der alte
+     * Reserve-Block wird dabei für den Garbage Collector freigegeben.
+     */
+    private void popChunk() {
+        Chunk empty = top;
+        top = empty.below;
+        topCount = top.elements.length;
+        empty.below = null;
+        spare = empty;
+    }
+
+    /**
+     * Ein Block von Plätzen und der Verweis auf den darunterliegenden (älteren) Block.
+     */
+    private static final class Chunk {
+        private final Object[] elements;
+        private Chunk below;
+
+        private Chunk(int length) {
+            this.elements = new Object[length];
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package de.lukas.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * Thread-sichere, lock-freie Queue (Warteschlange) nach Michael und Scott.
+ * Arbeitet nach dem FIFO-Prinzip (First In, First Out) und bietet dieselben Operationen
+ * wie {@link Queue}; beliebig viele Threads dürfen gleichzeitig einfügen und entnehmen.
+ * <p>
+ * Die Knoten haben dieselbe Form wie {@link Node} (Inhalt und Verweis auf den Nachfolger),
+ * der Verweis wird aber mit Compare-and-Set gesetzt. {@code head} zeigt immer auf einen
+ * Platzhalterknoten, dessen Nachfolger das erste Element enthält; {@code tail} zeigt auf
+ * den letzten oder vorletzten Knoten und wird von jedem Thread, der das bemerkt, nachgezogen.
+ * So muss kein Thread auf einen anderen warten.
+ * </p>
+ * <p>
+ * {@code null} kann nicht eingefügt werden, weil {@code null} eine leere Warteschlange anzeigt.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class ConcurrentQueue<T> {
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(ConcurrentQueue.class, "head", AtomicNode.class);
+            TAIL = lookup.findVarHandle(ConcurrentQueue.class, "tail", AtomicNode.class);
+            NEXT = lookup.findVarHandle(AtomicNode.class, "next", AtomicNode.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile AtomicNode<T> head;
+    private volatile AtomicNode<T> tail;
+
+    /**
+     * Erstellt eine leere Warteschlange.
+     */
+    public ConcurrentQueue() {
+        AtomicNode<T> dummy = new AtomicNode<>(null);
+        this.head = dummy;
+        this.tail = dummy;
+    }
+
+    /**
+     * Prüft, ob die Warteschlange leer ist. Bei gleichzeitigen Zugriffen ist das Ergebnis
+     * nur eine Momentaufnahme.
+     *
+     * @return true, wenn die Warteschlange leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    /**
+     * Fügt ein Element am Ende der Warteschlange ein.
+     *
+     * @param content Das einzufügende Element
+     * @throws NullPointerException wenn {@code content} null ist
+     */
+    public void enqueue(T content) {
+        AtomicNode<T> newNode = new AtomicNode<>(Objects.requireNonNull(content, "content"));
+        while (true) {
+            AtomicNode<T> last = tail;
+            AtomicNode<T> next = last.next;
+            if (next != null) {
+                // tail hinkt hinterher: erst nachziehen, dann neu versuchen
+                TAIL.compareAndSet(this, last, next);
+            } else if (NEXT.compareAndSet(last, null, newNode)) {
+                TAIL.compareAndSet(this, last, newNode);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entfernt das erste Element der Warteschlange und gibt es zurück.
+     *
+     * @return Das entfernte Element oder null, wenn die Warteschlange leer ist
+     */
+    public T dequeue() {
+        while (true) {
+            AtomicNode<T> first = head;
+            AtomicNode<T> next = first.next;
+            if (next == null) {
+                return null;
+            }
+            AtomicNode<T> last = tail;
+            if (first == last) {
+                // tail zeigt noch auf den Platzhalter, obwohl schon ein Element angehängt ist
+                TAIL.compareAndSet(this, last, next);
+                continue;
+            }
+            T content = next.content;
+            if (HEAD.compareAndSet(this, first, next)) {
+                // next ist jetzt der Platzhalter und soll das Element nicht festhalten
+                next.content = null;
+                return content;
+            }
+        }
+    }
+
+    /**
+     * Gibt das erste Element der Warteschlange zurück, ohne es zu entfernen.
+     *
+     * @return Das erste Element oder null, wenn die Warteschlange leer ist
+     */
+    public T front() {
+        while (true) {
+            AtomicNode<T> first = head;
+            AtomicNode<T> next = first.next;
+            if (next == null) {
+                return null;
+            }
+            T content = next.content;
+            // Nur gültig, wenn next in der Zwischenzeit nicht entnommen (und geleert) wurde
+            if (head == first) {
+                return content;
+            }
+        }
+    }
+
+    /**
+     * Knoten wie {@link Node}, aber mit einem {@code volatile} Nachfolger, der per
+     * Compare-and-Set gesetzt wird. Auch der Inhalt ist {@code volatile}: {@link #front()}
+     * liest ihn, während {@link #dequeue()} ihn leert, und darf das Lesen nicht hinter die
+     * Prüfung von {@code head} verschieben.
+     */
+    private static final class AtomicNode<T> {
+        private volatile T content;
+        private volatile AtomicNode<T> next;
+
+        private AtomicNode(T content) {
+            this.content = content;
+        }
+    }
+}
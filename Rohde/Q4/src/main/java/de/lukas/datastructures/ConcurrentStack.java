@@ -0,0 +1,205 @@
+package de.lukas.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Thread-sicherer, lock-freier Stack (Stapel) nach Treiber.
+ * Arbeitet nach dem LIFO-Prinzip (Last In, First Out) und bietet dieselben Operationen
+ * wie {@link Stack}; beliebig viele Threads dürfen gleichzeitig einfügen und entnehmen.
+ * <p>
+ * Der oberste Knoten wird mit Compare-and-Set ersetzt. Bei starker Konkurrenz scheitert
+ * dieser Versuch oft, weil alle Threads auf dieselbe Variable zugreifen. Dann weicht ein
+ * Thread auf ein Eliminationsfeld aus:
+ * </p>
+ * <ul>
+ *     <li>{@link #push} legt seinen Knoten in einen zufällig gewählten freien Platz und wartet
+ *     kurz, ob ein {@link #pop} ihn dort abholt. Wenn nicht, nimmt er ihn wieder heraus und
+ *     versucht es erneut am Stapel.</li>
+ *     <li>{@link #pop} schaut in einen zufällig gewählten Platz und übernimmt einen dort
+ *     wartenden Knoten.</li>
+ * </ul>
+ * <p>
+ * Ein so getroffenes Paar verhält sich wie ein {@code push} mit sofort folgendem {@code pop},
+ * ohne den Stapel selbst zu berühren. Unter Last verteilen sich die Zugriffe dadurch auf
+ * mehrere Cache-Zeilen.
+ * </p>
+ * <p>
+ * {@code null} kann nicht eingefügt werden, weil {@code null} einen leeren Stapel anzeigt.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class ConcurrentStack<T> {
+    private static final VarHandle TOP;
+    private static final VarHandle SLOT;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(ConcurrentStack.class, "top", AtomicNode.class);
+            SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Markiert einen Platz, dessen Knoten von einem {@code pop} übernommen wurde. */
+    private static final Object TAKEN = new Object();
+    /** Wie oft ein wartendes {@code push} nachschaut, bevor es seinen Knoten zurücknimmt. */
+    private static final int ELIMINATION_SPINS = 128;
+    /** Abstand zwischen zwei benutzten Plätzen, damit jeder in einer eigenen Cache-Zeile liegt. */
+    private static final int SLOT_STRIDE = 16;
+
+    private volatile AtomicNode<T> top;
+    /** Eliminationsfeld, null wenn die Elimination abgeschaltet ist. */
+    private final Object[] slots;
+    private final int slotCount;
+
+    /**
+     * Erstellt einen leeren Stapel mit einem Eliminationsfeld, dessen Größe sich nach der
+     * Anzahl der Prozessoren richtet.
+     */
+    public ConcurrentStack() {
+        this(Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors()), 32));
+    }
+
+    /**
+     * Erstellt einen leeren Stapel.
+     *
+     * @param eliminationSlots Anzahl der Plätze im Eliminationsfeld, 0 schaltet die
+     *                         Elimination ab
+     * @throws IllegalArgumentException wenn die Anzahl negativ oder größer als 1024 ist
+     */
+    public ConcurrentStack(int eliminationSlots) {
+        if (eliminationSlots < 0 || eliminationSlots > 1024) {
+            throw new IllegalArgumentException("Anzahl der Plätze muss zwischen 0 und 1024 liegen: "
+                    + eliminationSlots);
+        }
+        this.top = null;
+        this.slotCount = eliminationSlots;
+        this.slots = eliminationSlots == 0 ? null : new Object[eliminationSlots * SLOT_STRIDE];
+    }
+
+    /**
+     * Prüft, ob der Stapel leer ist. Bei gleichzeitigen Zugriffen ist das Ergebnis
+     * nur eine Momentaufnahme.
+     *
+     * @return true, wenn der Stapel leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return top == null;
+    }
+
+    /**
+     * Legt ein Element oben auf den Stapel.
+     *
+     * @param content Das einzufügende Element
+     * @throws NullPointerException wenn {@code content} null ist
+     */
+    public void push(T content) {
+        AtomicNode<T> newNode = new AtomicNode<>(Objects.requireNonNull(content, "content"));
+        while (true) {
+            AtomicNode<T> first = top;
+            newNode.next = first;
+            if (TOP.compareAndSet(this, first, newNode)) {
+                return;
+            }
+            if (slots != null && offerToPop(newNode)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entfernt das oberste Element vom Stapel und gibt es zurück.
+     *
+     * @return Das entfernte Element oder null, wenn der Stapel leer ist
+     */
+    public T pop() {
+        while (true) {
+            AtomicNode<T> first = top;
+            if (first == null) {
+                return null;
+            }
+            if (TOP.compareAndSet(this, first, first.next)) {
+                return first.content;
+            }
+            if (slots != null) {
+                T content = takeFromPush();
+                if (content != null) {
+                    return content;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gibt das oberste Element des Stapels zurück, ohne es zu entfernen.
+     *
+     * @return Das oberste Element oder null, wenn der Stapel leer ist
+     */
+    public T top() {
+        AtomicNode<T> first = top;
+        return first == null ? null : first.content;
+    }
+
+    /**
+     * Legt {@code node} in einen freien Platz des Eliminationsfelds und wartet kurz auf ein
+     * {@code pop}.
+     *
+     * @return true, wenn ein {@code pop} den Knoten übernommen hat
+     */
+    private boolean offerToPop(AtomicNode<T> node) {
+        int index = randomSlot();
+        if (!SLOT.compareAndSet(slots, index, null, node)) {
+            return false;
+        }
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (SLOT.getAcquire(slots, index) == TAKEN) {
+                SLOT.setRelease(slots, index, null);
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        if (SLOT.compareAndSet(slots, index, node, null)) {
+            return false;
+        }
+        // Zwischen letztem Nachschauen und Zurücknehmen hat ein pop zugegriffen
+        SLOT.setRelease(slots, index, null);
+        return true;
+    }
+
+    /**
+     * Übernimmt einen in einem zufälligen Platz wartenden Knoten.
+     *
+     * @return das Element des Knotens oder null, wenn dort keiner wartet
+     */
+    @SuppressWarnings("unchecked")
+    private T takeFromPush() {
+        int index = randomSlot();
+        Object offered = SLOT.getAcquire(slots, index);
+        if (offered instanceof AtomicNode && SLOT.compareAndSet(slots, index, offered, TAKEN)) {
+            return ((AtomicNode<T>) offered).content;
+        }
+        return null;
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(slotCount) * SLOT_STRIDE;
+    }
+
+    /**
+     * Knoten wie {@link Node}, dessen Nachfolger vor der Veröffentlichung per
+     * Compare-and-Set feststeht und danach nicht mehr geändert wird.
+     */
+    private static final class AtomicNode<T> {
+        private final T content;
+        private AtomicNode<T> next;
+
+        private AtomicNode(T content) {
+            this.content = content;
+        }
+    }
+}
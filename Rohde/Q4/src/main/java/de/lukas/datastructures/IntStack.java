@@ -0,0 +1,147 @@
+package de.lukas.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Stack (Stapel) für {@code int}-Werte in einem {@code int[]}.
+ * Arbeitet nach dem LIFO-Prinzip (Last In, First Out) wie {@link Stack}, speichert die Werte
+ * aber ohne {@link Integer}-Objekte und ohne {@link Node}. Nach dem Wachsen des Arrays legen
+ * {@link #push} und {@link #pop} nichts mehr an.
+ * <p>
+ * Weil ein {@code int} nicht {@code null} sein kann, werfen {@link #pop} und {@link #top}
+ * bei leerem Stapel eine {@link NoSuchElementException}; vorher mit {@link #isEmpty()} prüfen.
+ * </p>
+ */
+public class IntStack {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Erstellt einen leeren Stapel mit Standardkapazität.
+     */
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Erstellt einen leeren Stapel.
+     *
+     * @param initialCapacity Anfangskapazität
+     * @throws IllegalArgumentException wenn die Anfangskapazität negativ ist
+     */
+    public IntStack(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative Kapazität: " + initialCapacity);
+        }
+        this.elements = new int[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Prüft, ob der Stapel leer ist.
+     *
+     * @return true, wenn der Stapel leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gibt die Anzahl der Werte zurück.
+     *
+     * @return Anzahl der Werte auf dem Stapel
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Legt einen Wert oben auf den Stapel.
+     *
+     * @param value Der einzufügende Wert
+     */
+    public void push(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Legt {@code values[offset .. offset + length)} der Reihe nach auf den Stapel; danach liegt
+     * {@code values[offset + length - 1]} oben.
+     *
+     * @param values Die einzufügenden Werte
+     * @param offset Index des ersten Werts
+     * @param length Anzahl der Werte
+     */
+    public void pushAll(int[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        if (length > elements.length - size) {
+            grow(size + length);
+        }
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+    /**
+     * Entfernt den obersten Wert vom Stapel und gibt ihn zurück.
+     *
+     * @return Der entfernte Wert
+     * @throws NoSuchElementException wenn der Stapel leer ist
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("Stapel ist leer");
+        }
+        return elements[--size];
+    }
+
+    /**
+     * Entfernt bis zu {@code length} Werte vom Stapel und schreibt sie in der Reihenfolge, in
+     * der {@link #pop} sie liefern würde, nach {@code target[offset ..]}.
+     *
+     * @param target Ziel der entfernten Werte
+     * @param offset Index des ersten Zielplatzes
+     * @param length Höchstzahl der zu entfernenden Werte
+     * @return Anzahl der entfernten Werte, 0 wenn der Stapel leer ist
+     */
+    public int popAll(int[] target, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, target.length);
+        int count = Math.min(length, size);
+        for (int i = 0; i < count; i++) {
+            target[offset + i] = elements[size - 1 - i];
+        }
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Gibt den obersten Wert des Stapels zurück, ohne ihn zu entfernen.
+     *
+     * @return Der oberste Wert
+     * @throws NoSuchElementException wenn der Stapel leer ist
+     */
+    public int top() {
+        if (size == 0) {
+            throw new NoSuchElementException("Stapel ist leer");
+        }
+        return elements[size - 1];
+    }
+
+    /**
+     * Vergrößert das Array auf mindestens {@code required} Plätze, in der Regel auf das
+     * Doppelte.
+     */
+    private void grow(int required) {
+        if (required < 0 || required > MAX_CAPACITY) {
+            throw new IllegalStateException("Stapel ist voll");
+        }
+        int capacity = (int) Math.min(MAX_CAPACITY, Math.max(required, 2L * elements.length));
+        elements = Arrays.copyOf(elements, capacity);
+    }
+}
@@ -0,0 +1,167 @@
+package de.lukas.datastructures;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Queue (Warteschlange) für {@code long}-Werte als Ringpuffer in einem {@code long[]}.
+ * Arbeitet nach dem FIFO-Prinzip (First In, First Out) wie {@link ArrayQueue}, speichert die
+ * Werte aber ohne {@link Long}-Objekte. Nach dem Wachsen des Puffers legen
+ * {@link #enqueue} und {@link #dequeue} nichts mehr an.
+ * <p>
+ * Die Kapazität ist immer eine Zweierpotenz und wird bei Bedarf verdoppelt. Weil ein
+ * {@code long} nicht {@code null} sein kann, werfen {@link #dequeue} und {@link #front} bei
+ * leerer Warteschlange eine {@link NoSuchElementException}; vorher mit {@link #isEmpty()}
+ * prüfen.
+ * </p>
+ */
+public class LongQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] elements;
+    private int mask;
+    private int head;
+    private int size;
+
+    /**
+     * Erstellt eine leere Warteschlange mit Standardkapazität.
+     */
+    public LongQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Erstellt eine leere Warteschlange.
+     *
+     * @param initialCapacity Anfangskapazität, wird auf die nächste Zweierpotenz aufgerundet
+     * @throws IllegalArgumentException wenn die Anfangskapazität negativ oder größer als 2^30 ist
+     */
+    public LongQueue(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Ungültige Kapazität: " + initialCapacity);
+        }
+        int capacity = initialCapacity <= 2 ? 2 : Integer.highestOneBit(initialCapacity - 1) << 1;
+        this.elements = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Prüft, ob die Warteschlange leer ist.
+     *
+     * @return true, wenn die Warteschlange leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gibt die Anzahl der Werte zurück.
+     *
+     * @return Anzahl der Werte in der Warteschlange
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Fügt einen Wert am Ende der Warteschlange ein.
+     *
+     * @param value Der einzufügende Wert
+     */
+    public void enqueue(long value) {
+        if (size == elements.length) {
+            resize(size + 1);
+        }
+        elements[(head + size) & mask] = value;
+        size++;
+    }
+
+    /**
+     * Fügt {@code values[offset .. offset + length)} in ihrer Reihenfolge am Ende ein.
+     * Der Puffer wächst dabei höchstens einmal.
+     *
+     * @param values Die einzufügenden Werte
+     * @param offset Index des ersten Werts
+     * @param length Anzahl der Werte
+     */
+    public void enqueueAll(long[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        if (length > elements.length - size) {
+            resize(size + length);
+        }
+
+        int tail = (head + size) & mask;
+        int firstPart = Math.min(length, elements.length - tail);
+        System.arraycopy(values, offset, elements, tail, firstPart);
+        System.arraycopy(values, offset + firstPart, elements, 0, length - firstPart);
+        size += length;
+    }
+
+    /**
+     * Entfernt den ersten Wert der Warteschlange und gibt ihn zurück.
+     *
+     * @return Der entfernte Wert
+     * @throws NoSuchElementException wenn die Warteschlange leer ist
+     */
+    public long dequeue() {
+        if (size == 0) {
+            throw new NoSuchElementException("Warteschlange ist leer");
+        }
+        long value = elements[head];
+        head = (head + 1) & mask;
+        size--;
+        return value;
+    }
+
+    /**
+     * Entfernt bis zu {@code length} Werte vom Anfang und schreibt sie in FIFO-Reihenfolge
+     * nach {@code target[offset ..]}.
+     *
+     * @param target Ziel der entnommenen Werte
+     * @param offset Index des ersten Zielplatzes
+     * @param length Höchstzahl der zu entnehmenden Werte
+     * @return Anzahl der entnommenen Werte, 0 wenn die Warteschlange leer ist
+     */
+    public int drainTo(long[] target, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, target.length);
+        int count = Math.min(length, size);
+        int firstPart = Math.min(count, elements.length - head);
+        System.arraycopy(elements, head, target, offset, firstPart);
+        System.arraycopy(elements, 0, target, offset + firstPart, count - firstPart);
+        head = (head + count) & mask;
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Gibt den ersten Wert der Warteschlange zurück, ohne ihn zu entfernen.
+     *
+     * @return Der erste Wert
+     * @throws NoSuchElementException wenn die Warteschlange leer ist
+     */
+    public long front() {
+        if (size == 0) {
+            throw new NoSuchElementException("Warteschlange ist leer");
+        }
+        return elements[head];
+    }
+
+    /**
+     * Kopiert die Werte in ein neues Array mit mindestens {@code required} Plätzen (nächste
+     * Zweierpotenz, mindestens das Doppelte), beginnend bei Index 0.
+     */
+    private void resize(int required) {
+        if (required < 0 || required > MAX_CAPACITY) {
+            throw new IllegalStateException("Warteschlange ist voll");
+        }
+        int capacity = Math.max(elements.length << 1, Integer.highestOneBit(required - 1) << 1);
+        long[] resized = new long[capacity];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, resized, 0, firstPart);
+        System.arraycopy(elements, 0, resized, firstPart, size - firstPart);
+        elements = resized;
+        mask = capacity - 1;
+        head = 0;
+    }
+}
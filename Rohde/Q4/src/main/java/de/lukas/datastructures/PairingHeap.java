@@ -0,0 +1,291 @@
+package de.lukas.datastructures;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Vorrangwarteschlange (Priority Queue) als Pairing Heap mit {@code long}-Prioritäten.
+ * Entnommen wird immer das Element mit der kleinsten Priorität.
+ * <p>
+ * Jeder Knoten ist die Wurzel eines Baums, dessen Kinder als verkettete Liste hängen.
+ * {@link #insert}, {@link #merge} und {@link #decreaseKey} hängen nur einen Baum unter eine
+ * andere Wurzel und kosten O(1); erst {@link #extractMin} räumt auf, indem es die Kinder der
+ * alten Wurzel paarweise zusammenfügt (amortisiert O(log n)). Damit eignet sich der Heap
+ * besonders, wenn oft ganze Heaps zusammengeführt werden, wofür {@link BinaryHeap} jedes
+ * Element einzeln einfügen müsste.
+ * </p>
+ * <p>
+ * {@link #insert} gibt einen {@link Handle} zurück, über den die Priorität später gesenkt
+ * werden kann. Ein Handle gilt, bis sein Element entnommen wurde, auch nach einem
+ * {@link #merge} im zusammengeführten Heap. Damit {@link #merge} dafür nicht jedes Handle
+ * anfassen muss, verweist ein Handle auf eine Kennung seines Heaps; beim
+ * Zusammenführen wird nur die Kennung des übernommenen Heaps auf die des Ziels umgeleitet.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class PairingHeap<T> {
+    private Handle<T> root;
+    private int size;
+    private Owner owner = new Owner();
+
+    /**
+     * Kennung eines Heaps für seine Handles. Nach {@link #merge} zeigt die Kennung des
+     * übernommenen Heaps über {@code next} auf die des Ziels.
+     */
+    private static final class Owner {
+        private Owner next;
+    }
+
+    /**
+     * Ein Element im Heap mit seiner Priorität; zugleich der Knoten des Baums.
+     *
+     * @param <T> Der Typ des Elements
+     */
+    public static final class Handle<T> {
+        private final T element;
+        private long priority;
+        /** Erstes Kind. */
+        private Handle<T> child;
+        /** Nächstes Geschwister. */
+        private Handle<T> next;
+        /** Vorheriges Geschwister, beim ersten Kind der Elternknoten, bei der Wurzel null. */
+        private Handle<T> previous;
+        private boolean removed;
+        /** Kennung des Heaps beim Einfügen; der aktuelle Heap liegt am Ende der Kette. */
+        private Owner owner;
+
+        private Handle(T element, long priority, Owner owner) {
+            this.element = element;
+            this.priority = priority;
+            this.owner = owner;
+        }
+
+        /**
+         * @return Das Element
+         */
+        public T element() {
+            return element;
+        }
+
+        /**
+         * @return Die aktuelle Priorität
+         */
+        public long priority() {
+            return priority;
+        }
+    }
+
+    /**
+     * Prüft, ob der Heap leer ist.
+     *
+     * @return true, wenn der Heap leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück.
+     *
+     * @return Anzahl der Elemente im Heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Fügt ein Element mit der angegebenen Priorität ein.
+     *
+     * @param element  Das einzufügende Element
+     * @param priority Seine Priorität, kleinere Werte werden zuerst entnommen
+     * @return Handle für {@link #decreaseKey}
+     */
+    public Handle<T> insert(T element, long priority) {
+        Handle<T> handle = new Handle<>(element, priority, owner);
+        root = link(root, handle);
+        size++;
+        return handle;
+    }
+
+    /**
+     * Gibt das Element mit der kleinsten Priorität zurück, ohne es zu entfernen.
+     *
+     * @return Das Element oder null, wenn der Heap leer ist
+     */
+    public T min() {
+        return root == null ? null : root.element;
+    }
+
+    /**
+     * Gibt die kleinste Priorität zurück.
+     *
+     * @return Priorität von {@link #min()}
+     * @throws NoSuchElementException wenn der Heap leer ist
+     */
+    public long minPriority() {
+        if (root == null) {
+            throw new NoSuchElementException("Heap ist leer");
+        }
+        return root.priority;
+    }
+
+    /**
+     * Entfernt das Element mit der kleinsten Priorität und gibt es zurück.
+     *
+     * @return Das entfernte Element oder null, wenn der Heap leer ist
+     */
+    public T extractMin() {
+        if (root == null) {
+            return null;
+        }
+        Handle<T> min = root;
+        root = mergePairs(min.child);
+        min.child = null;
+        min.removed = true;
+        size--;
+        return min.element;
+    }
+
+    /**
+     * Senkt die Priorität eines Elements dieses Heaps.
+     *
+     * @param handle   Das Handle aus {@link #insert}
+     * @param priority Die neue Priorität, höchstens so groß wie die bisherige
+     * @throws IllegalArgumentException wenn die neue Priorität größer als die bisherige ist,
+     *                                  das Element schon entnommen wurde oder zu einem
+     *                                  anderen Heap gehört
+     */
+    public void decreaseKey(Handle<T> handle, long priority) {
+        if (handle.removed) {
+            throw new IllegalArgumentException("Element wurde bereits entnommen");
+        }
+        if (ownerOf(handle) != owner) {
+            throw new IllegalArgumentException("Element gehört zu einem anderen Heap");
+        }
+        if (priority > handle.priority) {
+            throw new IllegalArgumentException("Neue Priorität " + priority + " ist größer als "
+                    + handle.priority);
+        }
+        handle.priority = priority;
+        if (handle == root) {
+            return;
+        }
+        // den Teilbaum abtrennen und neu mit der Wurzel verbinden
+        if (handle.previous.child == handle) {
+            handle.previous.child = handle.next;
+        } else {
+            handle.previous.next = handle.next;
+        }
+        if (handle.next != null) {
+            handle.next.previous = handle.previous;
+        }
+        handle.next = null;
+        handle.previous = null;
+        root = link(root, handle);
+    }
+
+    /**
+     * Übernimmt alle Elemente von {@code other} in O(1); {@code other} ist danach leer.
+     * Handles aus {@code other} gelten danach für diesen Heap.
+     *
+     * @param other Der zu übernehmende Heap
+     * @throws IllegalArgumentException wenn {@code other} dieser Heap ist
+     */
+    public void merge(PairingHeap<T> other) {
+        Objects.requireNonNull(other, "other");
+        if (other == this) {
+            throw new IllegalArgumentException("Ein Heap kann nicht mit sich selbst zusammengeführt werden");
+        }
+        root = link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+        other.owner.next = owner;
+        other.owner = new Owner();
+    }
+
+    /**
+     * Folgt der Kette der Kennungen bis zum aktuellen Heap und verkürzt sie dabei, damit
+     * spätere Aufrufe direkt dort landen.
+     */
+    private static Owner ownerOf(Handle<?> handle) {
+        Owner current = handle.owner;
+        while (current.next != null) {
+            current = current.next;
+        }
+        Owner step = handle.owner;
+        while (step != current) {
+            Owner next = step.next;
+            step.next = current;
+            step = next;
+        }
+        handle.owner = current;
+        return current;
+    }
+
+    /**
+     * Verbindet zwei Wurzeln: die mit der größeren Priorität wird erstes Kind der anderen.
+     *
+     * @return die neue Wurzel
+     */
+    private static <T> Handle<T> link(Handle<T> a, Handle<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (b.priority < a.priority) {
+            Handle<T> swap = a;
+            a = b;
+            b = swap;
+        }
+        b.previous = a;
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.previous = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Fügt eine Geschwisterliste zu einem Baum zusammen: erst von links nach rechts je zwei
+     * Bäume paaren, dann die Paare von rechts nach links zu einem Baum verbinden. Iterativ,
+     * damit lange Listen keinen Stapelüberlauf auslösen.
+     */
+    private static <T> Handle<T> mergePairs(Handle<T> first) {
+        if (first == null) {
+            return null;
+        }
+        // 1. Durchgang: Paare bilden und über "previous" rückwärts verketten
+        Handle<T> pairs = null;
+        Handle<T> current = first;
+        while (current != null) {
+            Handle<T> a = current;
+            Handle<T> b = a.next;
+            current = b == null ? null : b.next;
+            a.next = null;
+            a.previous = null;
+            if (b != null) {
+                b.next = null;
+                b.previous = null;
+            }
+            Handle<T> pair = link(a, b);
+            pair.previous = pairs;
+            pairs = pair;
+        }
+        // 2. Durchgang: vom letzten Paar aus alle zu einem Baum verbinden
+        Handle<T> result = pairs;
+        pairs = pairs.previous;
+        result.previous = null;
+        while (pairs != null) {
+            Handle<T> pair = pairs;
+            pairs = pairs.previous;
+            pair.previous = null;
+            result = link(result, pair);
+        }
+        return result;
+    }
+}
@@ -1,7 +1,22 @@
 package de.lukas.datastructures;
 
+import java.util.Objects;
+
+/**
+ * Generische einfach verkettete Liste mit Zugriff über den Index.
+ * <p>
+ * Die Liste merkt sich ihr letztes Element und ihre Länge, sodass {@link #add} und
+ * {@link #size} O(1) kosten. Zusätzlich merkt sie sich den zuletzt über den Index besuchten
+ * Knoten (Cursor): ein Zugriff auf denselben oder einen späteren Index läuft von dort weiter
+ * statt vom Anfang. Schleifen wie {@code for (i = 0; i < size(); i++) get(i)} kosten damit
+ * amortisiert O(1) pro Zugriff statt O(n). Rückwärts kann eine einfach verkettete Liste
+ * nicht laufen, ein kleinerer Index beginnt daher wieder vorne.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
 public class SinglyLinkedList<T> {
-	
+
 	private static class Node<T> {
 		private T data;
 
@@ -11,33 +26,220 @@ public class SinglyLinkedList<T> {
 			this.data = data;
 		}
 	}
-	
+
 	private Node<T> head = null;
-	
+	private Node<T> tail = null;
+	private int size = 0;
+
+	/** Zuletzt über den Index besuchter Knoten, null wenn keiner gemerkt ist. */
+	private Node<T> cursor = null;
+	/** Index von {@code cursor}. */
+	private int cursorIndex = -1;
+
+	/**
+	 * Gibt die Anzahl der Elemente zurück.
+	 *
+	 * @return Anzahl der Elemente in der Liste
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Prüft, ob die Liste leer ist.
+	 *
+	 * @return true, wenn die Liste leer ist, sonst false
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Hängt ein Element am Ende der Liste an.
+	 *
+	 * @param data Das einzufügende Element
+	 */
 	public void add(T data) {
+		Node<T> newNode = new Node<>(data);
+		if (tail == null) {
+			head = newNode;
+		} else {
+			tail.next = newNode;
+		}
+		tail = newNode;
+		size++;
 	}
-	
+
+	/**
+	 * Fügt ein Element an der Position {@code index} ein; die folgenden Elemente rücken
+	 * um eins nach hinten.
+	 *
+	 * @param index Position des neuen Elements, 0 bis {@link #size()}
+	 * @param data  Das einzufügende Element
+	 * @throws IndexOutOfBoundsException wenn {@code index} außerhalb von 0 bis size() liegt
+	 */
 	public void insert(int index, T data) {
+		Objects.checkIndex(index, size + 1);
+		if (index == size) {
+			add(data);
+			return;
+		}
+
+		Node<T> newNode = new Node<>(data);
+		if (index == 0) {
+			newNode.next = head;
+			head = newNode;
+			// der gemerkte Knoten ist um eine Position nach hinten gerückt
+			if (cursor != null) {
+				cursorIndex++;
+			}
+		} else {
+			Node<T> previous = nodeAt(index - 1);
+			newNode.next = previous.next;
+			previous.next = newNode;
+		}
+		size++;
 	}
-	
+
+	/**
+	 * Ersetzt das Element an der Position {@code index}.
+	 *
+	 * @param index Position des Elements
+	 * @param data  Das neue Element
+	 * @throws IndexOutOfBoundsException wenn {@code index} außerhalb der Liste liegt
+	 */
 	public void set(int index, T data) {
+		Objects.checkIndex(index, size);
+		nodeAt(index).data = data;
 	}
 
+	/**
+	 * Gibt das Element an der Position {@code index} zurück.
+	 *
+	 * @param index Position des Elements
+	 * @return Das Element an dieser Position
+	 * @throws IndexOutOfBoundsException wenn {@code index} außerhalb der Liste liegt
+	 */
 	public T get(int index) {
-		T data = null;
-		return data;
+		Objects.checkIndex(index, size);
+		return nodeAt(index).data;
 	}
-	
+
+	/**
+	 * Entfernt das Element an der Position {@code index}; die folgenden Elemente rücken
+	 * um eins nach vorne.
+	 *
+	 * @param index Position des Elements
+	 * @return true, wenn ein Element entfernt wurde, false wenn {@code index} außerhalb der
+	 *         Liste liegt
+	 */
 	public boolean remove(int index) {
+		if (index < 0 || index >= size) {
+			return false;
+		}
+		if (index == 0) {
+			unlinkHead();
+		} else {
+			unlinkAfter(nodeAt(index - 1));
+		}
 		return true;
 	}
-	
+
+	/**
+	 * Entfernt das erste Element, das gleich {@code data} ist (auch {@code null}).
+	 *
+	 * @param data Das zu entfernende Element
+	 * @return true, wenn ein Element entfernt wurde, sonst false
+	 */
 	public boolean remove(T data) {
-		return true;
+		if (head == null) {
+			return false;
+		}
+		if (Objects.equals(head.data, data)) {
+			unlinkHead();
+			return true;
+		}
+
+		Node<T> previous = head;
+		for (int i = 0; previous.next != null; i++) {
+			if (Objects.equals(previous.next.data, data)) {
+				cursor = previous;
+				cursorIndex = i;
+				unlinkAfter(previous);
+				return true;
+			}
+			previous = previous.next;
+		}
+		return false;
+	}
+
+	/**
+	 * Sucht das erste Element, das gleich {@code data} ist (auch {@code null}).
+	 *
+	 * @param data Das gesuchte Element
+	 * @return Position des Elements oder -1, wenn es nicht in der Liste ist
+	 */
+	public int index (T data) {
+		int indexOfData = 0;
+		for (Node<T> current = head; current != null; current = current.next) {
+			if (Objects.equals(current.data, data)) {
+				return indexOfData;
+			}
+			indexOfData++;
+		}
+		return -1;
 	}
-	
-	public int index (T Data) {
-		int indexOfData = -1;
-		return indexOfData;
+
+	/**
+	 * Sucht den Knoten an einer gültigen Position, ab dem Cursor, wenn er davor liegt, sonst
+	 * ab dem Anfang, und merkt ihn sich als neuen Cursor.
+	 */
+	private Node<T> nodeAt(int index) {
+		if (index == size - 1) {
+			return tail;
+		}
+
+		Node<T> current;
+		int currentIndex;
+		if (cursor != null && cursorIndex <= index) {
+			current = cursor;
+			currentIndex = cursorIndex;
+		} else {
+			current = head;
+			currentIndex = 0;
+		}
+		while (currentIndex < index) {
+			current = current.next;
+			currentIndex++;
+		}
+		cursor = current;
+		cursorIndex = index;
+		return current;
+	}
+
+	private void unlinkHead() {
+		head = head.next;
+		if (head == null) {
+			tail = null;
+		}
+		size--;
+		// alle Positionen rücken nach vorne; der Cursor ist ungültig, wenn er der Kopf war
+		if (cursor != null && --cursorIndex < 0) {
+			cursor = null;
+		}
+	}
+
+	/**
+	 * Entfernt den Nachfolger von {@code previous}. Der Cursor liegt dabei auf
+	 * {@code previous} oder davor und bleibt gültig.
+	 */
+	private void unlinkAfter(Node<T> previous) {
+		Node<T> removed = previous.next;
+		previous.next = removed.next;
+		if (removed == tail) {
+			tail = previous;
+		}
+		removed.next = null;
+		size--;
 	}
 }
@@ -0,0 +1,294 @@
+package de.lukas.datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * Thread-sichere Queue (Warteschlange) fester Größe für genau einen Erzeuger- und einen
+ * Verbraucher-Thread (SPSC), zum Beispiel zwischen zwei Stufen einer Pipeline.
+ * Arbeitet nach dem FIFO-Prinzip (First In, First Out).
+ * <p>
+ * Weil jeder Zähler nur von einem Thread geschrieben wird, braucht es kein Compare-and-Set:
+ * </p>
+ * <ul>
+ *     <li>Ein neuer Zählerstand wird mit einem geordneten Schreibzugriff ({@code setRelease},
+ *     "lazy set") veröffentlicht, ohne vollständige Speicherbarriere.</li>
+ *     <li>Jeder Thread merkt sich den zuletzt gelesenen Zähler der Gegenseite und liest den
+ *     echten Wert erst, wenn der gemerkte Stand "voll" bzw. "leer" meldet. Meistens wird die
+ *     Cache-Zeile des anderen Threads also gar nicht angefasst.</li>
+ *     <li>Die Zähler beider Seiten liegen, durch Füllfelder getrennt, in verschiedenen
+ *     Cache-Zeilen, damit sich die Threads nicht gegenseitig ausbremsen (False Sharing).</li>
+ *     <li>{@link #enqueueAll} und {@link #drainTo} veröffentlichen einen ganzen Block mit
+ *     einem einzigen Schreibzugriff auf den Zähler.</li>
+ * </ul>
+ * <p>
+ * Die Methoden zum Einfügen dürfen nur vom Erzeuger-Thread, die zum Entnehmen nur vom
+ * Verbraucher-Thread aufgerufen werden. {@code null} kann nicht eingefügt werden.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public final class SpscQueue<T> extends SpscQueueConsumerPadding {
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(SpscQueueProducerFields.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(SpscQueueConsumerFields.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Erstellt eine leere Warteschlange.
+     *
+     * @param capacity Anzahl der Plätze, wird auf die nächste Zweierpotenz aufgerundet
+     * @throws IllegalArgumentException wenn die Kapazität kleiner als 2 oder größer als 2^30 ist
+     */
+    public SpscQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Gibt die Anzahl der Plätze zurück.
+     *
+     * @return Kapazität der Warteschlange
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück. Bei gleichzeitigen Zugriffen ist das Ergebnis
+     * nur eine Momentaufnahme.
+     *
+     * @return Anzahl der Elemente in der Warteschlange
+     */
+    public int size() {
+        while (true) {
+            long head = (long) HEAD.getAcquire(this);
+            long tail = (long) TAIL.getAcquire(this);
+            if (head == (long) HEAD.getAcquire(this)) {
+                return (int) (tail - head);
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob die Warteschlange leer ist. Bei gleichzeitigen Zugriffen ist das Ergebnis
+     * nur eine Momentaufnahme.
+     *
+     * @return true, wenn die Warteschlange leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return (long) HEAD.getAcquire(this) == (long) TAIL.getAcquire(this);
+    }
+
+    /**
+     * Fügt ein Element am Ende der Warteschlange ein, wenn noch Platz ist.
+     * Nur vom Erzeuger-Thread aufrufen.
+     *
+     * @param content Das einzufügende Element
+     * @return true, wenn das Element eingefügt wurde, false wenn die Warteschlange voll ist
+     * @throws NullPointerException wenn {@code content} null ist
+     */
+    public boolean enqueue(T content) {
+        Objects.requireNonNull(content, "content");
+        long tail = (long) TAIL.get(this); // eigener Zähler: kein geordneter Zugriff nötig
+        if (tail - headCache == elements.length) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (tail - headCache == elements.length) {
+                return false;
+            }
+        }
+        elements[(int) tail & mask] = content;
+        TAIL.setRelease(this, tail + 1);
+        return true;
+    }
+
+    /**
+     * Fügt so viele Elemente aus {@code contents[offset .. offset + length)} ein, wie Platz
+     * haben, und veröffentlicht sie gemeinsam. Nur vom Erzeuger-Thread aufrufen.
+     *
+     * @param contents Die einzufügenden Elemente (ohne null)
+     * @param offset   Index des ersten Elements
+     * @param length   Anzahl der Elemente
+     * @return Anzahl der eingefügten Elemente, 0 wenn die Warteschlange voll ist
+     * @throws NullPointerException wenn eines der Elemente, die Platz hätten, null ist; dann
+     *                              wird keines eingefügt
+     */
+    public int enqueueAll(T[] contents, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, contents.length);
+        long tail = (long) TAIL.get(this); // eigener Zähler: kein geordneter Zugriff nötig
+        long free = elements.length - (tail - headCache);
+        if (free < length) {
+            headCache = (long) HEAD.getAcquire(this);
+            free = elements.length - (tail - headCache);
+        }
+        int count = (int) Math.min(free, length);
+        // erst prüfen, dann schreiben: sonst blieben bei einem null-Element schon
+        // geschriebene, aber nie veröffentlichte Plätze belegt
+        for (int i = 0; i < count; i++) {
+            Objects.requireNonNull(contents[offset + i], "content");
+        }
+        for (int i = 0; i < count; i++) {
+            elements[(int) (tail + i) & mask] = contents[offset + i];
+        }
+        TAIL.setRelease(this, tail + count);
+        return count;
+    }
+
+    /**
+     * Entfernt das erste Element der Warteschlange und gibt es zurück.
+     * Nur vom Verbraucher-Thread aufrufen.
+     *
+     * @return Das entfernte Element oder null, wenn die Warteschlange leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        long head = (long) HEAD.get(this); // eigener Zähler: kein geordneter Zugriff nötig
+        if (head == tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (head == tailCache) {
+                return null;
+            }
+        }
+        int index = (int) head & mask;
+        T content = (T) elements[index];
+        elements[index] = null;
+        HEAD.setRelease(this, head + 1);
+        return content;
+    }
+
+    /**
+     * Gibt das erste Element der Warteschlange zurück, ohne es zu entfernen.
+     * Nur vom Verbraucher-Thread aufrufen.
+     *
+     * @return Das erste Element oder null, wenn die Warteschlange leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public T front() {
+        long head = (long) HEAD.get(this); // eigener Zähler: kein geordneter Zugriff nötig
+        if (head == tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (head == tailCache) {
+                return null;
+            }
+        }
+        return (T) elements[(int) head & mask];
+    }
+
+    /**
+     * Entnimmt bis zu {@code length} Elemente nach {@code target[offset ..]} und gibt ihre
+     * Plätze gemeinsam frei. Nur vom Verbraucher-Thread aufrufen.
+     *
+     * @param target Ziel der entnommenen Elemente
+     * @param offset Index des ersten Zielplatzes
+     * @param length Höchstzahl der zu entnehmenden Elemente
+     * @return Anzahl der entnommenen Elemente, 0 wenn die Warteschlange leer ist
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(T[] target, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, target.length);
+        long head = (long) HEAD.get(this); // eigener Zähler: kein geordneter Zugriff nötig
+        long available = tailCache - head;
+        if (available < length) {
+            tailCache = (long) TAIL.getAcquire(this);
+            available = tailCache - head;
+        }
+        int count = (int) Math.min(available, length);
+        for (int i = 0; i < count; i++) {
+            int index = (int) (head + i) & mask;
+            target[offset + i] = (T) elements[index];
+            elements[index] = null;
+        }
+        HEAD.setRelease(this, head + count);
+        return count;
+    }
+}
+
+/**
+ * Unveränderliche Felder, die beide Threads lesen. Die Füllfelder der Unterklassen trennen
+ * sie von den häufig geschriebenen Zählern.
+ */
+abstract class SpscQueueFields {
+    protected final Object[] elements;
+    protected final int mask;
+
+    SpscQueueFields(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Kapazität muss zwischen 2 und 2^30 liegen: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.mask = size - 1;
+    }
+}
+
+/**
+ * Füllfelder: eine Cache-Zeile (64 Byte) Abstand vor den Feldern des Erzeugers. Die JVM ordnet
+ * Felder einer Oberklasse immer vor denen der Unterklasse an, innerhalb einer Klasse darf sie
+ * sie dagegen umsortieren, daher die Aufteilung auf mehrere Klassen.
+ */
+abstract class SpscQueueProducerPadding extends SpscQueueFields {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+
+    SpscQueueProducerPadding(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * Felder, die nur der Erzeuger schreibt.
+ */
+abstract class SpscQueueProducerFields extends SpscQueueProducerPadding {
+    /** Nächste Einfüge-Position, geschrieben nur vom Erzeuger. */
+    protected volatile long tail;
+    /** Zuletzt gelesener Stand von {@code head}, nur vom Erzeuger benutzt. */
+    protected long headCache;
+
+    SpscQueueProducerFields(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * Füllfelder zwischen den Feldern des Erzeugers und des Verbrauchers.
+ */
+abstract class SpscQueueMiddlePadding extends SpscQueueProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    SpscQueueMiddlePadding(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * Felder, die nur der Verbraucher schreibt.
+ */
+abstract class SpscQueueConsumerFields extends SpscQueueMiddlePadding {
+    /** Nächste Entnahme-Position, geschrieben nur vom Verbraucher. */
+    protected volatile long head;
+    /** Zuletzt gelesener Stand von {@code tail}, nur vom Verbraucher benutzt. */
+    protected long tailCache;
+
+    SpscQueueConsumerFields(int capacity) {
+        super(capacity);
+    }
+}
+
+/**
+ * Füllfelder hinter den Feldern des Verbrauchers, damit auch das nächste Objekt im Speicher
+ * nicht in ihrer Cache-Zeile liegt.
+ */
+abstract class SpscQueueConsumerPadding extends SpscQueueConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    SpscQueueConsumerPadding(int capacity) {
+        super(capacity);
+    }
+}
@@ -0,0 +1,317 @@
+package de.lukas.datastructures;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Generische entrollte verkettete Liste (Unrolled Linked List) mit derselben Schnittstelle
+ * wie {@link SinglyLinkedList}.
+ * <p>
+ * Jeder Knoten hält statt eines einzelnen Elements ein kleines Array. Beim Einfügen in der
+ * Mitte werden deshalb nur die Elemente eines Knotens verschoben, und beim Durchlaufen liegen
+ * viele Elemente hintereinander im Speicher:
+ * </p>
+ * <ul>
+ *     <li>Ist ein Knoten voll, wird er beim Einfügen in der Mitte in zwei halbvolle Knoten
+ *     geteilt. {@link #add} hängt dagegen einen neuen Knoten an, sodass eine nur am Ende
+ *     gefüllte Liste volle Knoten hat.</li>
+ *     <li>Fällt ein Knoten durch Entfernen unter ein Viertel seiner Kapazität, übernimmt er
+ *     den Inhalt seines Nachfolgers, wenn beides zusammen in einen Knoten passt, sonst
+ *     so viele Elemente, dass beide etwa gleich voll sind.</li>
+ * </ul>
+ * <p>
+ * Wie {@link SinglyLinkedList} merkt sich die Liste den zuletzt über den Index besuchten
+ * Knoten, sodass aufeinanderfolgende Indizes nicht jedes Mal vom Anfang gesucht werden.
+ * </p>
+ *
+ * @param <T> Der Typ der gespeicherten Elemente
+ */
+public class UnrolledLinkedList<T> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;
+    private final int mergeThreshold;
+    /** Erster Knoten; nie null, bei leerer Liste ein leerer Knoten. */
+    private final Chunk head;
+    private Chunk tail;
+    private int size;
+
+    /** Zuletzt über den Index besuchter Knoten und der Index seines ersten Elements. */
+    private Chunk cursor;
+    private int cursorStart;
+
+    /**
+     * Erstellt eine leere Liste mit 64 Elementen pro Knoten.
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Erstellt eine leere Liste.
+     *
+     * @param nodeCapacity Anzahl der Elemente pro Knoten
+     * @throws IllegalArgumentException wenn die Kapazität kleiner als 4 ist
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("Kapazität pro Knoten muss mindestens 4 sein: " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+        this.mergeThreshold = nodeCapacity / 4;
+        this.head = new Chunk(nodeCapacity);
+        this.tail = head;
+        this.cursor = head;
+        this.cursorStart = 0;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück.
+     *
+     * @return Anzahl der Elemente in der Liste
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Prüft, ob die Liste leer ist.
+     *
+     * @return true, wenn die Liste leer ist, sonst false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Hängt ein Element am Ende der Liste an.
+     *
+     * @param data Das einzufügende Element
+     */
+    public void add(T data) {
+        if (tail.count == nodeCapacity) {
+            Chunk chunk = new Chunk(nodeCapacity);
+            tail.next = chunk;
+            tail = chunk;
+        }
+        tail.elements[tail.count++] = data;
+        size++;
+    }
+
+    /**
+     * Fügt ein Element an der Position {@code index} ein; die folgenden Elemente rücken
+     * um eins nach hinten.
+     *
+     * @param index Position des neuen Elements, 0 bis {@link #size()}
+     * @param data  Das einzufügende Element
+     * @throws IndexOutOfBoundsException wenn {@code index} außerhalb von 0 bis size() liegt
+     */
+    public void insert(int index, T data) {
+        Objects.checkIndex(index, size + 1);
+        if (index == size) {
+            add(data);
+            return;
+        }
+
+        Chunk chunk = chunkAt(index);
+        int offset = index - cursorStart;
+        if (chunk.count == nodeCapacity) {
+            split(chunk);
+            if (offset > chunk.count) {
+                // gehört in die hintere Hälfte
+                offset -= chunk.count;
+                cursorStart += chunk.count;
+                chunk = chunk.next;
+                cursor = chunk;
+            }
+        }
+        System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.count - offset);
+        chunk.elements[offset] = data;
+        chunk.count++;
+        size++;
+    }
+
+    /**
+     * Ersetzt das Element an der Position {@code index}.
+     *
+     * @param index Position des Elements
+     * @param data  Das neue Element
+     * @throws IndexOutOfBoundsException wenn {@code index} außerhalb der Liste liegt
+     */
+    public void set(int index, T data) {
+        Objects.checkIndex(index, size);
+        Chunk chunk = chunkAt(index);
+        chunk.elements[index - cursorStart] = data;
+    }
+
+    /**
+     * Gibt das Element an der Position {@code index} zurück.
+     *
+     * @param index Position des Elements
+     * @return Das Element an dieser Position
+     * @throws IndexOutOfBoundsException wenn {@code index} außerhalb der Liste liegt
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        Chunk chunk = chunkAt(index);
+        return (T) chunk.elements[index - cursorStart];
+    }
+
+    /**
+     * Entfernt das Element an der Position {@code index}; die folgenden Elemente rücken
+     * um eins nach vorne.
+     *
+     * @param index Position des Elements
+     * @return true, wenn ein Element entfernt wurde, false wenn {@code index} außerhalb der
+     *         Liste liegt
+     */
+    public boolean remove(int index) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        Chunk chunk = chunkAt(index);
+        removeAt(chunk, index - cursorStart);
+        return true;
+    }
+
+    /**
+     * Entfernt das erste Element, das gleich {@code data} ist (auch {@code null}).
+     *
+     * @param data Das zu entfernende Element
+     * @return true, wenn ein Element entfernt wurde, sonst false
+     */
+    public boolean remove(T data) {
+        int start = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            int offset = indexIn(chunk, data);
+            if (offset >= 0) {
+                cursor = chunk;
+                cursorStart = start;
+                removeAt(chunk, offset);
+                return true;
+            }
+            start += chunk.count;
+        }
+        return false;
+    }
+
+    /**
+     * Sucht das erste Element, das gleich {@code data} ist (auch {@code null}).
+     *
+     * @param data Das gesuchte Element
+     * @return Position des Elements oder -1, wenn es nicht in der Liste ist
+     */
+    public int index(T data) {
+        int start = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            int offset = indexIn(chunk, data);
+            if (offset >= 0) {
+                return start + offset;
+            }
+            start += chunk.count;
+        }
+        return -1;
+    }
+
+    /**
+     * Sucht den Knoten, der die gültige Position {@code index} enthält, ab dem Cursor, wenn er
+     * davor liegt, sonst ab dem Anfang. Danach zeigt der Cursor auf diesen Knoten und
+     * {@code cursorStart} ist der Index seines ersten Elements.
+     */
+    private Chunk chunkAt(int index) {
+        Chunk chunk;
+        int start;
+        if (cursorStart <= index) {
+            chunk = cursor;
+            start = cursorStart;
+        } else {
+            chunk = head;
+            start = 0;
+        }
+        while (index >= start + chunk.count) {
+            start += chunk.count;
+            chunk = chunk.next;
+        }
+        cursor = chunk;
+        cursorStart = start;
+        return chunk;
+    }
+
+    private void removeAt(Chunk chunk, int offset) {
+        Object[] elements = chunk.elements;
+        System.arraycopy(elements, offset + 1, elements, offset, chunk.count - offset - 1);
+        elements[--chunk.count] = null;
+        size--;
+        if (chunk.count < mergeThreshold && chunk.next != null) {
+            refill(chunk);
+        }
+    }
+
+    /**
+     * Teilt einen vollen Knoten: die hintere Hälfte wandert in einen neuen Nachfolger.
+     */
+    private void split(Chunk chunk) {
+        Chunk second = new Chunk(nodeCapacity);
+        int keep = chunk.count / 2;
+        int moved = chunk.count - keep;
+        System.arraycopy(chunk.elements, keep, second.elements, 0, moved);
+        Arrays.fill(chunk.elements, keep, chunk.count, null);
+        second.count = moved;
+        chunk.count = keep;
+        second.next = chunk.next;
+        chunk.next = second;
+        if (tail == chunk) {
+            tail = second;
+        }
+    }
+
+    /**
+     * Füllt einen zu leeren Knoten aus seinem Nachfolger auf: ganz, wenn beide zusammen in
+     * einen Knoten passen, sonst bis beide etwa gleich voll sind. Der Index des ersten
+     * Elements ändert sich dabei für keinen Knoten außer dem Nachfolger, den der Cursor nie
+     * hält (er zeigt auf {@code chunk}).
+     */
+    private void refill(Chunk chunk) {
+        Chunk next = chunk.next;
+        int moved = chunk.count + next.count <= nodeCapacity
+                ? next.count
+                : (next.count - chunk.count) / 2;
+        System.arraycopy(next.elements, 0, chunk.elements, chunk.count, moved);
+        chunk.count += moved;
+        if (moved == next.count) {
+            chunk.next = next.next;
+            if (tail == next) {
+                tail = chunk;
+            }
+        } else {
+            int remaining = next.count - moved;
+            System.arraycopy(next.elements, moved, next.elements, 0, remaining);
+            Arrays.fill(next.elements, remaining, next.count, null);
+            next.count = remaining;
+        }
+    }
+
+    private static int indexIn(Chunk chunk, Object data) {
+        Object[] elements = chunk.elements;
+        for (int i = 0; i < chunk.count; i++) {
+            if (Objects.equals(elements[i], data)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ein Knoten mit bis zu {@code nodeCapacity} Elementen in {@code elements[0 .. count)}.
+     */
+    private static final class Chunk {
+        private final Object[] elements;
+        private int count;
+        private Chunk next;
+
+        private Chunk(int capacity) {
+            this.elements = new Object[capacity];
+        }
+    }
+}
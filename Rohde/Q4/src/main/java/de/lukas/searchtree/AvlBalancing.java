@@ -0,0 +1,93 @@
+package de.lukas.searchtree;
+
+/**
+ * AVL rotations shared by {@link AvlTreeMap}, {@link IntLongTreeMap} and {@link IntObjectTreeMap}.
+ * <p>
+ * All methods work on the links and heights declared in {@link AvlNode} and return the new
+ * root of the subtree they were given, so callers can write
+ * {@code node.left = AvlBalancing.rebalance(node.left)}.
+ * </p>
+ */
+final class AvlBalancing {
+
+    private AvlBalancing() {
+    }
+
+    /**
+     * Recomputes the height of {@code node} and applies a single or double rotation
+     * if its children differ in height by more than one.
+     *
+     * @param node subtree root whose children are already balanced
+     * @param <N>  node type
+     * @return the new subtree root
+     */
+    static <N extends AvlNode<N>> N rebalance(N node) {
+        updateHeight(node);
+        int balance = balanceFactor(node);
+
+        // Left-heavy subtree
+        if (balance > 1) {
+            if (balanceFactor(node.left) < 0) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+
+        // Right-heavy subtree
+        if (balance < -1) {
+            if (balanceFactor(node.right) > 0) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    static <N extends AvlNode<N>> N rotateLeft(N node) {
+        N newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+
+        updateHeight(node);
+        updateHeight(newRoot);
+
+        return newRoot;
+    }
+
+    static <N extends AvlNode<N>> N rotateRight(N node) {
+        N newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+
+        updateHeight(node);
+        updateHeight(newRoot);
+
+        return newRoot;
+    }
+
+    static int height(AvlNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Helper for learning/testing: checks the AVL balance rule for every node of a subtree.
+     *
+     * @param node subtree root
+     * @return {@code true} if the subtree is balanced
+     */
+    static boolean isBalanced(AvlNode<?> node) {
+        if (node == null) {
+            return true;
+        }
+        return Math.abs(balanceFactor(node)) <= 1 && isBalanced(node.left) && isBalanced(node.right);
+    }
+
+    private static int balanceFactor(AvlNode<?> node) {
+        return height(node.left) - height(node.right);
+    }
+
+    private static void updateHeight(AvlNode<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+}
@@ -0,0 +1,14 @@
+package de.lukas.searchtree;
+
+/**
+ * Common shape of the nodes of the AVL-based maps: two children and the subtree height.
+ * Subclasses add the key and value fields, so the rotations in {@link AvlBalancing} work
+ * for every key and value type without boxing.
+ *
+ * @param <N> the concrete node type
+ */
+abstract class AvlNode<N extends AvlNode<N>> {
+    N left;
+    N right;
+    int height = 1;
+}
@@ -0,0 +1,221 @@
+package de.lukas.searchtree;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An ordered map based on an AVL tree, for any key type with a {@link Comparator}
+ * or a natural ordering.
+ * <p>
+ * For {@code int} keys use {@link IntLongTreeMap} or {@link IntObjectTreeMap}, which store
+ * the key unboxed. All three maps share the rotation code in {@link AvlBalancing}.
+ * </p>
+ * <p>
+ * {@code null} keys are not allowed; {@code null} values are.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class AvlTreeMap<K, V> {
+    private final Comparator<? super K> comparator;
+    private Node<K, V> root;
+    private int size;
+
+    /** Result of the last recursive put/remove: the old value and whether the key existed. */
+    private V previousValue;
+    private boolean found;
+
+    /**
+     * Creates an empty map ordered by the keys' natural ordering.
+     * The keys must implement {@link Comparable}.
+     */
+    @SuppressWarnings("unchecked")
+    public AvlTreeMap() {
+        this((Comparator<? super K>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates an empty map ordered by the given comparator.
+     *
+     * @param comparator key order
+     */
+    public AvlTreeMap(Comparator<? super K> comparator) {
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, replacing an existing mapping.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or {@code null} if the key was not present
+     */
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        found = false;
+        previousValue = null;
+        root = put(root, key, value);
+        if (!found) {
+            size++;
+        }
+        return takePreviousValue();
+    }
+
+    /**
+     * @param key the key
+     * @return the value for {@code key}, or {@code null} if the key is not present
+     */
+    public V get(K key) {
+        Node<K, V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * @param key the key
+     * @return {@code true} if the map contains {@code key}
+     */
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Removes the mapping for {@code key}.
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if the key was not present
+     */
+    public V remove(K key) {
+        Objects.requireNonNull(key, "key");
+        found = false;
+        previousValue = null;
+        root = remove(root, key);
+        if (found) {
+            size--;
+        }
+        return takePreviousValue();
+    }
+
+    /**
+     * Calls {@code action} for every mapping in ascending key order.
+     *
+     * @param action the action to perform
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * @return number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} when the map has no mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Helper method for learning/testing: verifies that every node in the tree
+     * currently satisfies the AVL balance rule.
+     *
+     * @return {@code true} if the tree is balanced
+     */
+    public boolean isBalanced() {
+        return AvlBalancing.isBalanced(root);
+    }
+
+    private Node<K, V> find(K key) {
+        Node<K, V> current = root;
+        while (current != null) {
+            int comparison = comparator.compare(key, current.key);
+            if (comparison < 0) {
+                current = current.left;
+            } else if (comparison > 0) {
+                current = current.right;
+            } else {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value);
+        }
+        int comparison = comparator.compare(key, node.key);
+        if (comparison < 0) {
+            node.left = put(node.left, key, value);
+        } else if (comparison > 0) {
+            node.right = put(node.right, key, value);
+        } else {
+            found = true;
+            previousValue = node.value;
+            node.value = value;
+            return node;
+        }
+        return AvlBalancing.rebalance(node);
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = comparator.compare(key, node.key);
+        if (comparison < 0) {
+            node.left = remove(node.left, key);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, key);
+        } else {
+            if (!found) {
+                found = true;
+                previousValue = node.value;
+            }
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node.value = successor.value;
+            node.right = remove(node.right, successor.key);
+        }
+        return AvlBalancing.rebalance(node);
+    }
+
+    private void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        if (node == null) {
+            return;
+        }
+        forEach(node.left, action);
+        action.accept(node.key, node.value);
+        forEach(node.right, action);
+    }
+
+    private V takePreviousValue() {
+        V value = previousValue;
+        previousValue = null;
+        return value;
+    }
+
+    private static final class Node<K, V> extends AvlNode<Node<K, V>> {
+        private K key;
+        private V value;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package de.lukas.searchtree;
+
+/**
+ * Balancing strategy of a {@link BinarySearchTree}, chosen when the tree is created.
+ * <p>
+ * All strategies keep the height in O(log n) and support the full tree API; they differ in
+ * how much restructuring an update costs and how close to minimal the height stays.
+ * </p>
+ */
+public enum Balancing {
+    /**
+     * Height-balanced AVL tree: subtree heights differ by at most 1. Lowest height and
+     * therefore the shortest lookups, but removals can rotate all the way up to the root.
+     * The default.
+     */
+    AVL,
+
+    /**
+     * Red-black tree: at most two rotations per insert and three per removal, everything
+     * else is recoloring. The height can reach {@code 2 * log2(n)}, so lookups walk somewhat
+     * longer paths. Suited to write-heavy workloads.
+     */
+    RED_BLACK,
+
+    /**
+     * Weight-balanced tree ({@code delta = 3}, {@code gamma = 2}): the sizes of sibling
+     * subtrees differ by at most a factor of 3. Balancing only looks at subtree sizes,
+     * which every node stores anyway, so split and join are cheap and the
+     * set operations ({@link BinarySearchTree#union} etc.) keep this strategy.
+     */
+    WEIGHT_BALANCED
+}
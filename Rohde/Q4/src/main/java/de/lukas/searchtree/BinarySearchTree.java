@@ -1,27 +1,126 @@
 package de.lukas.searchtree;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * A simple self-balancing binary search tree (AVL tree) for {@code int} values.
  * <p>
  * It keeps the height difference between the left and right subtree of every node
- * at most 1 by applying rotations after insertions. This keeps lookups and inserts
- * fast even when values are added in sorted order.
+ * at most 1 by applying rotations after insertions and removals. This keeps lookups,
+ * inserts and removals fast even when values are added in sorted order.
+ * </p>
+ * <p>
+ * Every node also knows the size of its subtree, which answers order-statistic queries
+ * such as {@link #rank(int)}, {@link #select(int)} and {@link #countInRange(int, int)}
+ * in O(log n) without walking the values.
+ * </p>
+ * <p>
+ * Two trees can be combined with {@link #union}, {@link #intersection} and
+ * {@link #difference}. These are built on the {@code split} and {@code join} primitives
+ * and process large trees in parallel on the common fork-join pool.
+ * </p>
+ * <p>
+ * For tuning, the tree can count rotations and lookup path lengths, see {@link #stats()}.
+ * </p>
+ * <p>
+ * AVL balancing is the default. Write-heavy workloads can pick a red-black or a
+ * weight-balanced tree instead, see {@link Balancing}; the API stays the same.
+ * </p>
+ * <p>
+ * When most lookups are misses, {@link #enableMembershipFilter(double)} puts a Bloom filter
+ * in front of {@link #contains(int)} that rejects most absent values without a tree walk.
  * </p>
  * <p>
  * Duplicate values are ignored.
  * </p>
  */
 public class BinarySearchTree {
+    /**
+     * Enables the counters behind {@link #stats()} and {@link #filterStats()}. Being a
+     * {@code static final} constant, the JIT removes every guarded counter update when it is
+     * {@code false}, so disabled statistics cost nothing on the hot path.
+     */
+    static final boolean STATS_ENABLED = Boolean.getBoolean("de.lukas.searchtree.stats");
+
+    /**
+     * Below this combined number of values a set operation runs sequentially, because
+     * forking a task would cost more than the work it saves.
+     */
+    private static final int PARALLEL_THRESHOLD = 8_192;
+
+    /**
+     * Upper bound for the height of a tree holding at most {@link Integer#MAX_VALUE} values,
+     * used to size the reusable path buffer. The weight-balanced tree is the tallest
+     * (about 2.41 * log2(n)), followed by red-black (2 * log2(n)) and AVL (1.44 * log2(n)).
+     */
+    private static final int MAX_HEIGHT = 80;
+
+    /**
+     * Weight-balanced trees: a subtree may be at most {@code WEIGHT_DELTA} times as heavy as
+     * its sibling (weight = size + 1). When rebalancing, a single rotation is used if the
+     * inner grandchild is lighter than {@code WEIGHT_GAMMA} times the outer one.
+     */
+    private static final int WEIGHT_DELTA = 3;
+    private static final int WEIGHT_GAMMA = 2;
+
+    private final Balancing balancing;
     private Node root;
     private int size;
 
+    /** Optional Bloom filter in front of {@link #contains(int)}, {@code null} when disabled. */
+    private IntBloomFilter filter;
+
+    private long insertCount;
+    private long removeCount;
+    /** Rotations done while rebalancing after an insert. */
+    private long insertSingleRotationCount;
+    private long insertDoubleRotationCount;
+    /** Rotations done while rebalancing after a removal. */
+    private long removalSingleRotationCount;
+    private long removalDoubleRotationCount;
+    private long lookupCount;
+    private long lookupComparisonCount;
+
+    /**
+     * Nodes visited by the last descent, root first. Reused by every insert so that
+     * rebalancing can walk back up without recursion or parent pointers.
+     */
+    private final Node[] path = new Node[MAX_HEIGHT];
+
     /**
      * Creates an empty balanced binary search tree.
      */
     public BinarySearchTree() {
+        this(Balancing.AVL);
+    }
+
+    /**
+     * Creates an empty binary search tree with the given balancing strategy.
+     *
+     * @param balancing how the tree keeps itself balanced
+     */
+    public BinarySearchTree(Balancing balancing) {
+        this.balancing = Objects.requireNonNull(balancing, "balancing");
     }
 
     /**
@@ -30,146 +129,1335 @@ public class BinarySearchTree {
      * @param values values to insert (duplicates are ignored)
      */
     public BinarySearchTree(int... values) {
+        this(Balancing.AVL);
         for (int value : values) {
             insert(value);
         }
     }
 
+    private BinarySearchTree(Balancing balancing, Node root, int size) {
+        this.balancing = balancing;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Builds a perfectly balanced tree from the given values in one go.
+     * <p>
+     * Unsorted input is copied and sorted with a primitive sort, duplicates are dropped,
+     * and the tree is then built bottom-up in linear time by always choosing the middle
+     * value as the subtree root. Already strictly sorted input is used directly without
+     * copying or sorting. The given array is never modified.
+     * </p>
+     *
+     * @param values values to load (in any order, duplicates are ignored)
+     * @return a new balanced tree containing all distinct values
+     */
+    public static BinarySearchTree bulkLoad(int... values) {
+        return bulkLoad(Balancing.AVL, values);
+    }
+
+    /**
+     * Builds a perfectly balanced tree with the given balancing strategy, see
+     * {@link #bulkLoad(int...)}.
+     *
+     * @param balancing balancing strategy of the new tree
+     * @param values    values to load (in any order, duplicates are ignored)
+     * @return a new balanced tree containing all distinct values
+     */
+    public static BinarySearchTree bulkLoad(Balancing balancing, int... values) {
+        Objects.requireNonNull(balancing, "balancing");
+        if (isStrictlyAscending(values, values.length)) {
+            return fromSortedDistinct(balancing, values, values.length);
+        }
+
+        int[] sorted = values.clone();
+        if (!isAscending(sorted)) {
+            Arrays.sort(sorted);
+        }
+
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[i] != sorted[count - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return fromSortedDistinct(balancing, sorted, count);
+    }
+
+    /**
+     * The built tree is valid for every strategy. A red-black tree additionally needs colors:
+     * all null links are on the last two levels, so coloring the last level red gives every
+     * path the same number of black nodes.
+     */
+    private static BinarySearchTree fromSortedDistinct(Balancing balancing, int[] sorted, int count) {
+        Node root = build(sorted, 0, count);
+        if (balancing == Balancing.RED_BLACK && root != null && root.height > 1) {
+            paintLevelRed(root, root.height - 1);
+        }
+        return new BinarySearchTree(balancing, root, count);
+    }
+
+    /**
+     * Inserts a value into the tree.
+     * <p>
+     * The tree is descended only once: the visited nodes are recorded in a reusable
+     * path buffer and rebalanced bottom-up after the new leaf has been attached.
+     * </p>
+     *
+     * @param value the value to insert
+     * @return {@code true} if the value was newly added, {@code false} if it was already present
+     */
+    public boolean insert(int value) {
+        if (root == null) {
+            root = new Node(value);
+            size++;
+            if (STATS_ENABLED) {
+                insertCount++;
+            }
+            if (filter != null) {
+                addToFilter(value);
+            }
+            return true;
+        }
+
+        Node[] path = this.path;
+        int depth = 0;
+        Node current = root;
+        Node leaf = null;
+        while (leaf == null) {
+            path[depth++] = current;
+            if (value < current.value) {
+                if (current.left == null) {
+                    leaf = current.left = new Node(value);
+                }
+                current = current.left;
+            } else if (value > current.value) {
+                if (current.right == null) {
+                    leaf = current.right = new Node(value);
+                }
+                current = current.right;
+            } else {
+                Arrays.fill(path, 0, depth, null);
+                return false;
+            }
+        }
+
+        size++;
+        if (STATS_ENABLED) {
+            insertCount++;
+        }
+        switch (balancing) {
+            case AVL -> rebalancePath(depth, 1);
+            case RED_BLACK -> {
+                leaf.red = true;
+                fixRedBlackInsert(depth, leaf);
+            }
+            case WEIGHT_BALANCED -> rebalanceWeightPath(depth, false);
+        }
+        if (filter != null) {
+            addToFilter(value);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a value from the tree and rebalances the path above it.
+     * <p>
+     * A node with two children is replaced by its in-order successor, which is
+     * unlinked from its old position first.
+     * </p>
+     *
+     * @param value the value to remove
+     * @return {@code true} if the value was present
+     */
+    public boolean remove(int value) {
+        boolean removed = unlink(value);
+        if (removed && filter != null && filter.isStale()) {
+            rebuildFilter();
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all given values from the tree. A membership filter is rebuilt at most once,
+     * after all values have been removed.
+     *
+     * @param values values to remove (values that are not present are ignored)
+     * @return number of values that were actually removed
+     */
+    public int removeAll(int... values) {
+        int removed = 0;
+        for (int value : values) {
+            if (unlink(value)) {
+                removed++;
+            }
+        }
+        if (filter != null && filter.isStale()) {
+            rebuildFilter();
+        }
+        return removed;
+    }
+
+    /**
+     * Puts a Bloom filter in front of {@link #contains(int)}, so that most lookups of absent
+     * values return without walking the tree.
+     * <p>
+     * The filter is built from the current values and kept up to date by every insert. It
+     * cannot forget values, so it is rebuilt once more than a quarter of its values have
+     * been removed, or when the tree outgrows the size it was built for. Each rebuild takes
+     * O(n) and sizes the filter for twice the current number of values, so the cost per
+     * update stays amortized O(1). The filter needs about {@code -1.44 * log2(rate)} bits per
+     * value, rounded up to a power of two, e.g. 1.2 to 2.4 bytes per value at 1 %.
+     * </p>
+     *
+     * @param falsePositiveRate share of absent values the filter may let through, in (0, 1)
+     * @throws IllegalArgumentException if the rate is not between 0 and 1 (exclusive)
+     */
+    public void enableMembershipFilter(double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        filter = buildFilter(falsePositiveRate);
+    }
+
+    /**
+     * Removes the filter set up by {@link #enableMembershipFilter(double)} and frees its memory.
+     */
+    public void disableMembershipFilter() {
+        filter = null;
+    }
+
+    /**
+     * @return {@code true} if a membership filter is in front of {@link #contains(int)}
+     */
+    public boolean hasMembershipFilter() {
+        return filter != null;
+    }
+
+    /**
+     * Returns the hit and miss counters of the membership filter. Like {@link #stats()}, the
+     * lookup counters are only collected while {@link #statsEnabled()} is {@code true};
+     * otherwise they stay 0.
+     *
+     * @return current filter statistics
+     * @throws IllegalStateException if no filter is enabled
+     */
+    public FilterStats filterStats() {
+        if (filter == null) {
+            throw new IllegalStateException("No membership filter enabled");
+        }
+        return filter.stats();
+    }
+
+    /**
+     * Unlinks a value and rebalances the path above it, see {@link #remove(int)}.
+     */
+    private boolean unlink(int value) {
+        Node[] path = this.path;
+        int depth = 0;
+        Node current = root;
+        while (current != null && current.value != value) {
+            path[depth++] = current;
+            current = value < current.value ? current.left : current.right;
+        }
+        if (current == null) {
+            Arrays.fill(path, 0, depth, null);
+            return false;
+        }
+
+        Node parent = depth == 0 ? null : path[depth - 1];
+        Node replacement;
+        // For red-black fixing: the node that moves into the unlinked position and its color
+        Node child;
+        boolean childIsLeft;
+        boolean removedRed = current.red;
+        if (current.left != null && current.right != null) {
+            int replacedIndex = depth;
+            path[depth++] = current;
+
+            Node successor = current.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+
+            Node successorParent = path[depth - 1];
+            child = successor.right;
+            childIsLeft = successorParent != current;
+            removedRed = successor.red;
+            if (successorParent == current) {
+                current.right = successor.right;
+            } else {
+                successorParent.left = successor.right;
+            }
+
+            successor.left = current.left;
+            successor.right = current.right;
+            successor.height = current.height;
+            successor.size = current.size;
+            successor.red = current.red;
+            path[replacedIndex] = successor;
+            replacement = successor;
+        } else {
+            replacement = current.left != null ? current.left : current.right;
+            child = replacement;
+            childIsLeft = parent != null && parent.left == current;
+        }
+
+        if (parent == null) {
+            root = replacement;
+        } else {
+            replaceChild(parent, current, replacement);
+        }
+        current.left = null;
+        current.right = null;
+
+        size--;
+        if (STATS_ENABLED) {
+            removeCount++;
+        }
+        if (filter != null) {
+            filter.removed();
+        }
+        switch (balancing) {
+            case AVL -> rebalancePath(depth, -1);
+            case RED_BLACK -> fixRedBlackRemove(depth, child, childIsLeft, removedRed);
+            case WEIGHT_BALANCED -> rebalanceWeightPath(depth, true);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the tree contains a value.
+     *
+     * @param value the value to search for
+     * @return {@code true} if the value exists in the tree
+     */
+    public boolean contains(int value) {
+        IntBloomFilter filter = this.filter;
+        if (filter != null && !filter.mightContain(value)) {
+            if (STATS_ENABLED) {
+                lookupCount++; // answered without visiting a node
+            }
+            return false;
+        }
+
+        Node current = root;
+        int comparisons = 0;
+        while (current != null) {
+            comparisons++;
+            if (value < current.value) {
+                current = current.left;
+            } else if (value > current.value) {
+                current = current.right;
+            } else {
+                break;
+            }
+        }
+        if (STATS_ENABLED) {
+            lookupCount++;
+            lookupComparisonCount += comparisons;
+        }
+        if (STATS_ENABLED && current == null && filter != null) {
+            filter.falsePositive();
+        }
+        return current != null;
+    }
+
+    /**
+     * Returns how many values in the tree are smaller than {@code value}.
+     * The value itself does not have to be in the tree.
+     *
+     * @param value the value to rank
+     * @return number of stored values {@code < value}
+     */
+    public int rank(int value) {
+        return countBelow(value, false);
+    }
+
+    /**
+     * Returns the value at a position of the sorted order.
+     *
+     * @param index position in sorted order, starting at 0
+     * @return the {@code index}-th smallest value
+     * @throws IndexOutOfBoundsException if {@code index} is not in {@code [0, size())}
+     */
+    public int select(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        Node current = root;
+        while (true) {
+            int leftSize = nodeSize(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                current = current.right;
+            } else {
+                return current.value;
+            }
+        }
+    }
+
+    /**
+     * Counts the values between two bounds.
+     *
+     * @param low  lower bound (inclusive)
+     * @param high upper bound (inclusive)
+     * @return number of stored values {@code v} with {@code low <= v <= high}, 0 if {@code low > high}
+     */
+    public int countInRange(int low, int high) {
+        if (low > high) {
+            return 0;
+        }
+        return countBelow(high, true) - countBelow(low, false);
+    }
+
+    /**
+     * @param value the search value
+     * @return the greatest stored value {@code <= value}, or empty if there is none
+     */
+    public OptionalInt floor(int value) {
+        return below(value, true);
+    }
+
+    /**
+     * @param value the search value
+     * @return the greatest stored value {@code < value}, or empty if there is none
+     */
+    public OptionalInt lower(int value) {
+        return below(value, false);
+    }
+
+    /**
+     * @param value the search value
+     * @return the smallest stored value {@code >= value}, or empty if there is none
+     */
+    public OptionalInt ceiling(int value) {
+        return above(value, true);
+    }
+
+    /**
+     * @param value the search value
+     * @return the smallest stored value {@code > value}, or empty if there is none
+     */
+    public OptionalInt higher(int value) {
+        return above(value, false);
+    }
+
+    /**
+     * @return number of values currently stored in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} when the tree contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the balancing strategy of this tree
+     */
+    public Balancing balancing() {
+        return balancing;
+    }
+
+    /**
+     * Returns the height of the whole tree.
+     * Empty tree = 0, single node = 1.
+     *
+     * @return tree height
+     */
+    public int height() {
+        return nodeHeight(root);
+    }
+
+    /**
+     * Returns the values in sorted order (in-order traversal).
+     *
+     * @return sorted list of all values in the tree
+     */
+    public List<Integer> inOrder() {
+        List<Integer> values = new ArrayList<>();
+        inOrder(root, values);
+        return values;
+    }
+
+    /**
+     * Returns a lazy iterator over all values in ascending order.
+     * <p>
+     * Unlike {@link #inOrder()} nothing is copied or boxed: the iterator keeps an explicit
+     * stack of at most {@link #height()} nodes. The tree must not be modified while iterating.
+     * </p>
+     *
+     * @return iterator over all values in sorted order
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new ValueIterator(root, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a lazy iterator over the values between two bounds in ascending order.
+     * The first value is found in O(log n); the tree must not be modified while iterating.
+     *
+     * @param low  lower bound (inclusive)
+     * @param high upper bound (inclusive)
+     * @return iterator over all values {@code v} with {@code low <= v <= high}
+     */
+    public PrimitiveIterator.OfInt iterator(int low, int high) {
+        return new ValueIterator(root, low, high);
+    }
+
+    /**
+     * Returns a sequential stream of all values in ascending order.
+     * <p>
+     * The stream's spliterator splits at subtree roots and knows the exact size of every
+     * part, so {@code stream().parallel()} spreads the work evenly across cores.
+     * The tree must not be modified while the stream is in use.
+     * </p>
+     *
+     * @return stream of all values in sorted order
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(new SubtreeSpliterator(null, root), false);
+    }
+
+    /**
+     * Returns a new tree with all values that are in this tree or in {@code other}.
+     * Both input trees stay unchanged.
+     *
+     * @param other the other tree
+     * @return union of both trees
+     */
+    public BinarySearchTree union(BinarySearchTree other) {
+        return combine(SetOperation.UNION, other);
+    }
+
+    /**
+     * Returns a new tree with all values that are in this tree and in {@code other}.
+     * Both input trees stay unchanged.
+     *
+     * @param other the other tree
+     * @return intersection of both trees
+     */
+    public BinarySearchTree intersection(BinarySearchTree other) {
+        return combine(SetOperation.INTERSECTION, other);
+    }
+
+    /**
+     * Returns a new tree with all values of this tree that are not in {@code other}.
+     * Both input trees stay unchanged.
+     *
+     * @param other the other tree
+     * @return difference {@code this \ other}
+     */
+    public BinarySearchTree difference(BinarySearchTree other) {
+        return combine(SetOperation.DIFFERENCE, other);
+    }
+
+    /**
+     * Stores the values in a compact file: sorted, delta-encoded as varints. The file holds
+     * only the values, not the balancing strategy; load it again with
+     * {@link #mapFrom(Path, Balancing)}.
+     *
+     * @param file target file (created or replaced)
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        SortedIntFile.write(file, iterator(), size);
+    }
+
+    /**
+     * Loads a tree written by {@link #writeTo(Path)} as an AVL tree, see
+     * {@link #mapFrom(Path, Balancing)}.
+     *
+     * @param file file written by {@link #writeTo(Path)}
+     * @return the loaded AVL tree
+     * @throws IOException if the file cannot be read or is not a valid tree file
+     */
+    public static BinarySearchTree mapFrom(Path file) throws IOException {
+        return mapFrom(file, Balancing.AVL);
+    }
+
+    /**
+     * Loads a tree written by {@link #writeTo(Path)} with the given balancing strategy.
+     * <p>
+     * The file is memory-mapped and decoded in a single pass, and the tree is then built
+     * with the linear-time bottom-up construction of {@link #bulkLoad(int...)}. No value is
+     * inserted one by one and no rotation is needed, so loading is bound by memory bandwidth.
+     * </p>
+     *
+     * @param file      file written by {@link #writeTo(Path)}
+     * @param balancing balancing strategy of the loaded tree
+     * @return the loaded tree
+     * @throws IOException if the file cannot be read or is not a valid tree file
+     */
+    public static BinarySearchTree mapFrom(Path file, Balancing balancing) throws IOException {
+        Objects.requireNonNull(balancing, "balancing");
+        int[] values = SortedIntFile.read(file);
+        return fromSortedDistinct(balancing, values, values.length);
+    }
+
+    /**
+     * Returns a snapshot of this tree's statistics.
+     * <p>
+     * Rotation and lookup counters are only collected when the JVM runs with
+     * {@code -Dde.lukas.searchtree.stats=true} and are 0 otherwise. Bulk loading and set
+     * operations are not counted. The depth histogram is
+     * computed from the current shape in O(n) and is always filled.
+     * </p>
+     *
+     * @return current statistics
+     */
+    public TreeStats stats() {
+        int[] histogram = new int[height()];
+        countDepths(root, 0, histogram);
+        return new TreeStats(insertCount, removeCount, insertSingleRotationCount, insertDoubleRotationCount,
+                removalSingleRotationCount, removalDoubleRotationCount, lookupCount, lookupComparisonCount,
+                histogram);
+    }
+
+    /**
+     * Sets all counters behind {@link #stats()} back to 0.
+     */
+    public void resetStats() {
+        insertCount = 0;
+        removeCount = 0;
+        insertSingleRotationCount = 0;
+        insertDoubleRotationCount = 0;
+        removalSingleRotationCount = 0;
+        removalDoubleRotationCount = 0;
+        lookupCount = 0;
+        lookupComparisonCount = 0;
+    }
+
+    /**
+     * @return {@code true} if the JVM collects the counters behind {@link #stats()}
+     */
+    public static boolean statsEnabled() {
+        return STATS_ENABLED;
+    }
+
+    /**
+     * Compiles the current values into an immutable, cache-friendly lookup structure.
+     * Useful once a tree has been loaded and only serves {@code contains} from then on;
+     * later changes to this tree are not reflected in the frozen copy.
+     *
+     * @return read-only copy of this tree in Eytzinger layout
+     */
+    public FrozenBinarySearchTree freeze() {
+        return new FrozenBinarySearchTree(iterator(), size);
+    }
+
+    /**
+     * Helper method for learning/testing: verifies that every node in the tree
+     * currently satisfies the balance rule of the tree's {@link Balancing}.
+     *
+     * @return {@code true} if the tree is balanced
+     */
+    public boolean isBalanced() {
+        return switch (balancing) {
+            case AVL -> isBalanced(root);
+            case RED_BLACK -> !isRed(root) && blackHeight(root) >= 0;
+            case WEIGHT_BALANCED -> isWeightBalanced(root);
+        };
+    }
+
+    /**
+     * Returns an ASCII representation of the tree that can be printed in a terminal.
+     * <p>
+     * For large trees prefer {@link #printTree(Appendable, int, int)}, which streams the
+     * output and can stop after a given depth or number of nodes.
+     * </p>
+     *
+     * @return multi-line tree view (or {@code "(empty)\n"} for an empty tree)
+     */
+    public String toTreeString() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            printTree(builder, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen for a StringBuilder
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Prints the tree structure to the terminal.
+     */
+    public void printTree() {
+        // a PrintStream would turn every line into a String, a Writer takes the char[] as is
+        PrintWriter writer = new PrintWriter(System.out);
+        try {
+            printTree(writer, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintWriter does not throw
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the tree view of {@link #toTreeString()} to {@code out}, showing only nodes up to
+     * {@code maxDepth} (the root has depth 0).
+     *
+     * @param out      where to write the tree view
+     * @param maxDepth deepest level to print
+     * @throws IOException if writing to {@code out} fails
+     * @see #printTree(Appendable, int, int)
+     */
+    public void printTree(Appendable out, int maxDepth) throws IOException {
+        printTree(out, maxDepth, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes the tree view of {@link #toTreeString()} to {@code out}.
+     * <p>
+     * The output is streamed line by line: each line is built in one reusable buffer and
+     * values are written without creating strings, so even huge trees can be dumped into a
+     * file. {@link Writer}s and {@link StringBuilder}s receive that buffer directly; other
+     * targets get it wrapped as a {@link CharSequence}. Where subtrees are cut off because of {@code maxDepth}, and once
+     * {@code maxNodes} nodes have been printed, a {@code "..."} line marks the omitted part.
+     * </p>
+     *
+     * @param out      where to write the tree view
+     * @param maxDepth deepest level to print (the root has depth 0)
+     * @param maxNodes maximum number of nodes to print
+     * @throws IOException              if writing to {@code out} fails
+     * @throws IllegalArgumentException if {@code maxDepth} or {@code maxNodes} is negative
+     */
+    public void printTree(Appendable out, int maxDepth, int maxNodes) throws IOException {
+        if (maxDepth < 0 || maxNodes < 0) {
+            throw new IllegalArgumentException("maxDepth and maxNodes must not be negative");
+        }
+        if (root == null) {
+            out.append("(empty)\n");
+            return;
+        }
+        new TreePrinter(out, maxDepth, maxNodes).print(root);
+    }
+
+    public static void main(String[] args) {
+        BinarySearchTree tree = new BinarySearchTree();
+
+        // Even sorted insertions stay balanced because this class performs AVL rotations.
+        for (int value = 1; value <= 10; value++) {
+            tree.insert(value);
+        }
+
+        System.out.println("In-order (sorted): " + tree.inOrder());
+        System.out.println("Size: " + tree.size());
+        System.out.println("Height: " + tree.height());
+        System.out.println("Balanced: " + tree.isBalanced());
+        System.out.println("Contains 7: " + tree.contains(7));
+        System.out.println("Contains 42: " + tree.contains(42));
+        System.out.println();
+        System.out.println("Tree view:");
+        tree.printTree();
+    }
+
+    private void addToFilter(int value) {
+        filter.add(value);
+        if (filter.isStale()) {
+            rebuildFilter();
+        }
+    }
+
+    private void rebuildFilter() {
+        IntBloomFilter rebuilt = buildFilter(filter.falsePositiveRate());
+        rebuilt.keepCounters(filter);
+        filter = rebuilt;
+    }
+
+    private IntBloomFilter buildFilter(double falsePositiveRate) {
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(1_024, 2L * size));
+        IntBloomFilter built = new IntBloomFilter(capacity, falsePositiveRate);
+        for (PrimitiveIterator.OfInt values = iterator(); values.hasNext(); ) {
+            built.add(values.nextInt());
+        }
+        return built;
+    }
+
+    /**
+     * Walks the recorded path from the deepest node back to the root, updating heights
+     * and sizes and rotating where needed. Once a subtree keeps its old height no more
+     * rotations can be needed above it, so the remaining ancestors only get their size
+     * adjusted.
+     *
+     * @param depth     number of valid entries in {@link #path}
+     * @param sizeDelta change of the number of values below every node on the path
+     */
+    private void rebalancePath(int depth, int sizeDelta) {
+        Node[] path = this.path;
+        int i = depth - 1;
+        for (; i >= 0; i--) {
+            Node node = path[i];
+            path[i] = null;
+
+            int oldHeight = node.height;
+            update(node);
+            if (STATS_ENABLED) {
+                countRotation(node, sizeDelta < 0);
+            }
+            Node subtree = rebalance(node);
+
+            if (i == 0) {
+                root = subtree;
+            } else if (subtree != node) {
+                replaceChild(path[i - 1], node, subtree);
+            }
+
+            if (subtree.height == oldHeight) {
+                break;
+            }
+        }
+        for (i--; i >= 0; i--) {
+            path[i].size += sizeDelta;
+            path[i] = null;
+        }
+    }
+
+    /**
+     * Weight-balanced counterpart of {@link #rebalancePath(int, int)}. Every ancestor's
+     * weight changes, so the whole path is updated and rebalanced.
+     *
+     * @param depth   number of valid entries in {@link #path}
+     * @param removal whether a value was removed (for the rotation counters)
+     */
+    private void rebalanceWeightPath(int depth, boolean removal) {
+        Node[] path = this.path;
+        for (int i = depth - 1; i >= 0; i--) {
+            Node node = path[i];
+            path[i] = null;
+
+            update(node);
+            Node left = node.left;
+            Node right = node.right;
+            Node subtree = rebalanceWeight(node);
+            if (subtree == node) {
+                continue;
+            }
+            if (STATS_ENABLED) {
+                countRotation(subtree != left && subtree != right, removal);
+            }
+            attach(i, node, subtree);
+        }
+    }
+
+    /**
+     * Restores the red-black rules after {@code leaf} (red) was attached below
+     * {@code path[depth - 1]}: a red uncle is handled by recoloring and moving up two levels,
+     * a black uncle by one single or double rotation, after which the tree is valid again.
+     *
+     * @param depth number of valid entries in {@link #path}
+     * @param leaf  the new node
+     */
+    private void fixRedBlackInsert(int depth, Node leaf) {
+        Node[] path = this.path;
+        updatePath(depth - 1);
+
+        Node node = leaf;
+        int i = depth - 1; // index of the parent of node
+        // The root is black, so a red parent always has a parent of its own.
+        while (i > 0 && path[i].red) {
+            Node parent = path[i];
+            Node grandparent = path[i - 1];
+            Node uncle = grandparent.left == parent ? grandparent.right : grandparent.left;
+            if (isRed(uncle)) {
+                parent.red = false;
+                uncle.red = false;
+                grandparent.red = true;
+                node = grandparent;
+                i -= 2;
+                continue;
+            }
+
+            boolean inner = (grandparent.left == parent) != (parent.left == node);
+            if (STATS_ENABLED) {
+                countRotation(inner, false);
+            }
+            Node subtree;
+            if (grandparent.left == parent) {
+                if (inner) {
+                    grandparent.left = rotateLeft(parent);
+                }
+                subtree = rotateRight(grandparent);
+            } else {
+                if (inner) {
+                    grandparent.right = rotateRight(parent);
+                }
+                subtree = rotateLeft(grandparent);
+            }
+            subtree.red = false;
+            grandparent.red = true;
+            attach(i - 1, grandparent, subtree);
+            updateHeights(i - 2);
+            break;
+        }
+        root.red = false;
+        Arrays.fill(path, 0, depth, null);
+    }
+
+    /**
+     * Restores the red-black rules after a node was unlinked below {@code path[depth - 1]}.
+     * If the unlinked node was black, the paths through {@code child} are one black node
+     * short: a red {@code child} simply turns black, otherwise the deficit is pushed up by
+     * recoloring siblings or resolved with at most three rotations.
+     *
+     * @param depth       number of valid entries in {@link #path}
+     * @param child       node that took the place of the unlinked node, may be {@code null}
+     * @param childIsLeft whether {@code child} is the left child of {@code path[depth - 1]}
+     * @param removedRed  color of the unlinked node
+     */
+    private void fixRedBlackRemove(int depth, Node child, boolean childIsLeft, boolean removedRed) {
+        Node[] path = this.path;
+        updatePath(depth - 1);
+
+        if (!removedRed && isRed(child)) {
+            child.red = false;
+        } else if (!removedRed) {
+            boolean isLeft = childIsLeft;
+            boolean siblingRotated = false;
+            int i = depth - 1; // index of the parent of the node that is short one black
+            while (i >= 0) {
+                Node parent = path[i];
+                // The sibling subtree has a black height >= 1, so it is never empty.
+                Node sibling = isLeft ? parent.right : parent.left;
+                if (sibling.red) {
+                    // Rotate the red sibling above the parent; the new sibling is black.
+                    sibling.red = false;
+                    parent.red = true;
+                    attach(i, parent, isLeft ? rotateLeft(parent) : rotateRight(parent));
+                    path[i] = sibling;
+                    if (STATS_ENABLED) {
+                        removalSingleRotationCount++;
+                    }
+                    // The parent moved one level down, below the old sibling.
+                    path[++i] = parent;
+                    sibling = isLeft ? parent.right : parent.left;
+                    siblingRotated = true;
+                }
+
+                Node far = isLeft ? sibling.right : sibling.left;
+                Node near = isLeft ? sibling.left : sibling.right;
+                if (!isRed(far) && !isRed(near)) {
+                    sibling.red = true;
+                    if (parent.red || i == 0) {
+                        parent.red = false;
+                        if (siblingRotated) {
+                            updateHeights(i - 2);
+                        }
+                        break;
+                    }
+                    isLeft = path[i - 1].left == parent;
+                    i--;
+                    continue;
+                }
+
+                if (!isRed(far)) {
+                    near.red = false;
+                    sibling.red = true;
+                    if (isLeft) {
+                        parent.right = rotateRight(sibling);
+                    } else {
+                        parent.left = rotateLeft(sibling);
+                    }
+                    far = sibling;
+                    sibling = near;
+                }
+                if (STATS_ENABLED) {
+                    countRotation(sibling == near, true);
+                }
+                sibling.red = parent.red;
+                parent.red = false;
+                far.red = false;
+                attach(i, parent, isLeft ? rotateLeft(parent) : rotateRight(parent));
+                if (siblingRotated) {
+                    // Already updated by the first rotation, so it cannot serve as the stop point.
+                    update(path[i - 1]);
+                    updateHeights(i - 2);
+                } else {
+                    updateHeights(i - 1);
+                }
+                break;
+            }
+            depth = Math.max(depth, i + 1);
+        }
+        if (root != null) {
+            root.red = false;
+        }
+        Arrays.fill(path, 0, depth, null);
+    }
+
+    /**
+     * Replaces {@code oldSubtree}, which sits at {@code path[index]}, by {@code newSubtree}
+     * in its parent {@code path[index - 1]} (or as the root).
+     */
+    private void attach(int index, Node oldSubtree, Node newSubtree) {
+        if (index == 0) {
+            root = newSubtree;
+        } else {
+            replaceChild(path[index - 1], oldSubtree, newSubtree);
+        }
+    }
+
+    /**
+     * Recomputes height and size of {@code path[from]} down to {@code path[0]}.
+     */
+    private void updatePath(int from) {
+        for (int i = from; i >= 0; i--) {
+            update(path[i]);
+        }
+    }
+
+    /**
+     * Recomputes the heights of {@code path[from]} down to {@code path[0]} after a rotation
+     * below them, stopping at the first node whose height did not change.
+     */
+    private void updateHeights(int from) {
+        for (int i = from; i >= 0; i--) {
+            Node node = path[i];
+            int oldHeight = node.height;
+            update(node);
+            if (node.height == oldHeight) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Records which rotation {@link #rebalance(Node)} is about to apply to {@code node}.
+     */
+    private void countRotation(Node node, boolean removal) {
+        int balance = balanceFactor(node);
+        if (balance > 1) {
+            countRotation(balanceFactor(node.left) < 0, removal);
+        } else if (balance < -1) {
+            countRotation(balanceFactor(node.right) > 0, removal);
+        }
+    }
+
+    private void countRotation(boolean isDouble, boolean removal) {
+        if (removal) {
+            if (isDouble) {
+                removalDoubleRotationCount++;
+            } else {
+                removalSingleRotationCount++;
+            }
+        } else if (isDouble) {
+            insertDoubleRotationCount++;
+        } else {
+            insertSingleRotationCount++;
+        }
+    }
+
     /**
-     * Inserts a value into the tree.
-     *
-     * @param value the value to insert
+     * Split and join copy every node they change instead of relinking it, so both inputs are
+     * read without being copied up front; subtrees that end up unchanged in the result are
+     * copied by the task that reaches them. There is no red-black join, so red-black trees
+     * and trees of different strategies are merged sequentially instead.
      */
-    public void insert(int value) {
-        if (contains(value)) {
-            return;
+    private BinarySearchTree combine(SetOperation operation, BinarySearchTree other) {
+        if (balancing == Balancing.RED_BLACK || other.balancing != balancing) {
+            return merge(operation, other);
         }
-        root = insert(root, value);
-        size++;
+        SetTask task = new SetTask(operation, balancing, root, other.root);
+        Node result = ForkJoinTask.inForkJoinPool() ? task.invoke() : ForkJoinPool.commonPool().invoke(task);
+        return new BinarySearchTree(balancing, result, nodeSize(result));
     }
 
     /**
-     * Checks if the tree contains a value.
-     *
-     * @param value the value to search for
-     * @return {@code true} if the value exists in the tree
+     * Linear-time set operation on the sorted values of both trees; the result is built
+     * bottom-up with this tree's strategy.
      */
-    public boolean contains(int value) {
-        Node current = root;
-        while (current != null) {
-            if (value < current.value) {
-                current = current.left;
-            } else if (value > current.value) {
-                current = current.right;
+    private BinarySearchTree merge(SetOperation operation, BinarySearchTree other) {
+        int[] first = stream().toArray();
+        int[] second = other.stream().toArray();
+        int[] result = new int[operation == SetOperation.UNION ? first.length + second.length : first.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                if (operation != SetOperation.INTERSECTION) {
+                    result[count++] = first[i];
+                }
+                i++;
+            } else if (first[i] > second[j]) {
+                if (operation == SetOperation.UNION) {
+                    result[count++] = second[j];
+                }
+                j++;
             } else {
-                return true;
+                if (operation != SetOperation.DIFFERENCE) {
+                    result[count++] = first[i];
+                }
+                i++;
+                j++;
             }
         }
-        return false;
+        if (operation != SetOperation.INTERSECTION) {
+            System.arraycopy(first, i, result, count, first.length - i);
+            count += first.length - i;
+        }
+        if (operation == SetOperation.UNION) {
+            System.arraycopy(second, j, result, count, second.length - j);
+            count += second.length - j;
+        }
+        return fromSortedDistinct(balancing, result, count);
+    }
+
+    private static Node copy(Node node) {
+        if (node == null) {
+            return null;
+        }
+        Node copy = new Node(node.value);
+        copy.left = copy(node.left);
+        copy.right = copy(node.right);
+        copy.height = node.height;
+        copy.size = node.size;
+        copy.red = node.red;
+        return copy;
     }
 
     /**
-     * @return number of values currently stored in the tree
+     * Returns a copy of a single node that shares the children of the original.
      */
-    public int size() {
-        return size;
+    private static Node copyNode(Node node) {
+        if (node == null) {
+            return null;
+        }
+        Node copy = new Node(node.value);
+        copy.left = node.left;
+        copy.right = node.right;
+        copy.height = node.height;
+        copy.size = node.size;
+        copy.red = node.red;
+        return copy;
     }
 
     /**
-     * @return {@code true} when the tree contains no values
+     * Joins two AVL or two weight-balanced trees and a middle node, where every value in
+     * {@code left} is smaller and every value in {@code right} is larger than
+     * {@code middle.value}. None of the three is changed: the result consists of copies of
+     * {@code middle} and the nodes on the descended spine, and shares all other subtrees.
      */
-    public boolean isEmpty() {
-        return size == 0;
+    private static Node join(Balancing balancing, Node left, Node middle, Node right) {
+        return balancing == Balancing.WEIGHT_BALANCED
+                ? joinByWeight(left, middle, right)
+                : joinByHeight(left, middle, right);
     }
 
     /**
-     * Returns the height of the whole tree.
-     * Empty tree = 0, single node = 1.
-     *
-     * @return tree height
+     * AVL join. Runs in O(|height(left) - height(right)|) by descending the spine of the
+     * taller tree.
      */
-    public int height() {
-        return nodeHeight(root);
+    private static Node joinByHeight(Node left, Node middle, Node right) {
+        int leftHeight = nodeHeight(left);
+        int rightHeight = nodeHeight(right);
+        if (leftHeight > rightHeight + 1) {
+            Node node = copyNode(left);
+            node.right = withInnerCopied(joinByHeight(left.right, middle, right), true);
+            update(node);
+            return rebalance(node);
+        }
+        if (rightHeight > leftHeight + 1) {
+            Node node = copyNode(right);
+            node.left = withInnerCopied(joinByHeight(left, middle, right.left), false);
+            update(node);
+            return rebalance(node);
+        }
+        return joinedMiddle(left, middle, right);
     }
 
     /**
-     * Returns the values in sorted order (in-order traversal).
-     *
-     * @return sorted list of all values in the tree
+     * Weight-balanced join. Descends the spine of the heavier tree until both sides are
+     * within {@link #WEIGHT_DELTA} of each other and rebalances on the way back up.
      */
-    public List<Integer> inOrder() {
-        List<Integer> values = new ArrayList<>();
-        inOrder(root, values);
-        return values;
+    private static Node joinByWeight(Node left, Node middle, Node right) {
+        long leftWeight = nodeSize(left) + 1L;
+        long rightWeight = nodeSize(right) + 1L;
+        if (leftWeight > WEIGHT_DELTA * rightWeight) {
+            Node node = copyNode(left);
+            node.right = withInnerCopied(joinByWeight(left.right, middle, right), true);
+            update(node);
+            return rebalanceWeight(node);
+        }
+        if (rightWeight > WEIGHT_DELTA * leftWeight) {
+            Node node = copyNode(right);
+            node.left = withInnerCopied(joinByWeight(left, middle, right.left), false);
+            update(node);
+            return rebalanceWeight(node);
+        }
+        return joinedMiddle(left, middle, right);
+    }
+
+    private static Node joinedMiddle(Node left, Node middle, Node right) {
+        Node node = copyNode(middle);
+        node.left = left;
+        node.right = right;
+        update(node);
+        return node;
     }
 
     /**
-     * Helper method for learning/testing: verifies that every node in the tree
-     * currently satisfies the AVL balance rule.
+     * The root of a joined subtree is always a fresh node, but its inner child may still
+     * belong to an input tree and becomes the pivot if the parent needs a double rotation.
+     * Copies that child so the rotation cannot change an input.
      *
-     * @return {@code true} if the tree is balanced
+     * @param joined    root of the joined subtree
+     * @param rightSide whether {@code joined} is the right child of its new parent
      */
-    public boolean isBalanced() {
-        return isBalanced(root);
+    private static Node withInnerCopied(Node joined, boolean rightSide) {
+        if (rightSide) {
+            joined.left = copyNode(joined.left);
+        } else {
+            joined.right = copyNode(joined.right);
+        }
+        return joined;
     }
 
     /**
-     * Returns an ASCII representation of the tree that can be printed in a terminal.
-     *
-     * @return multi-line tree view (or {@code "(empty)\n"} for an empty tree)
+     * Joins two trees where every value in {@code left} is smaller than every value in
+     * {@code right}, using the largest node of {@code left} as the middle node.
      */
-    public String toTreeString() {
-        if (root == null) {
-            return "(empty)\n";
+    private static Node join(Balancing balancing, Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
         }
+        Split last = splitLast(balancing, left);
+        return join(balancing, last.left, last.middle, right);
+    }
 
-        StringBuilder builder = new StringBuilder();
-        builder.append(root.value).append('\n');
-        appendChildren(builder, root, "");
-        return builder.toString();
+    private static Split splitLast(Balancing balancing, Node node) {
+        if (node.right == null) {
+            return new Split(node.left, node, null);
+        }
+        Split split = splitLast(balancing, node.right);
+        split.left = join(balancing, node.left, node, split.left);
+        return split;
     }
 
     /**
-     * Prints the tree structure to the terminal.
+     * Splits a tree into the values smaller and larger than {@code value} without changing
+     * it. The node holding {@code value} itself, if any, is returned as {@link Split#middle}.
      */
-    public void printTree() {
-        System.out.print(toTreeString());
+    private static Split split(Balancing balancing, Node node, int value) {
+        if (node == null) {
+            return new Split(null, null, null);
+        }
+        if (value < node.value) {
+            Split split = split(balancing, node.left, value);
+            split.right = join(balancing, split.right, node, node.right);
+            return split;
+        }
+        if (value > node.value) {
+            Split split = split(balancing, node.right, value);
+            split.left = join(balancing, node.left, node, split.left);
+            return split;
+        }
+        return new Split(node.left, node, node.right);
     }
 
-    public static void main(String[] args) {
-        BinarySearchTree tree = new BinarySearchTree();
+    private static void countDepths(Node node, int depth, int[] histogram) {
+        if (node == null) {
+            return;
+        }
+        histogram[depth]++;
+        countDepths(node.left, depth + 1, histogram);
+        countDepths(node.right, depth + 1, histogram);
+    }
 
-        // Even sorted insertions stay balanced because this class performs AVL rotations.
-        for (int value = 1; value <= 10; value++) {
-            tree.insert(value);
+    private int countBelow(int value, boolean inclusive) {
+        int count = 0;
+        Node current = root;
+        while (current != null) {
+            if (value < current.value || (value == current.value && !inclusive)) {
+                current = current.left;
+            } else {
+                count += nodeSize(current.left) + 1;
+                current = current.right;
+            }
         }
+        return count;
+    }
 
-        System.out.println("In-order (sorted): " + tree.inOrder());
-        System.out.println("Size: " + tree.size());
-        System.out.println("Height: " + tree.height());
-        System.out.println("Balanced: " + tree.isBalanced());
-        System.out.println("Contains 7: " + tree.contains(7));
-        System.out.println("Contains 42: " + tree.contains(42));
-        System.out.println();
-        System.out.println("Tree view:");
-        tree.printTree();
+    private OptionalInt below(int value, boolean inclusive) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            if (current.value < value || (inclusive && current.value == value)) {
+                best = current;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        return best == null ? OptionalInt.empty() : OptionalInt.of(best.value);
+    }
+
+    private OptionalInt above(int value, boolean inclusive) {
+        Node best = null;
+        Node current = root;
+        while (current != null) {
+            if (current.value > value || (inclusive && current.value == value)) {
+                best = current;
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return best == null ? OptionalInt.empty() : OptionalInt.of(best.value);
+    }
+
+    private static Node build(int[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node node = new Node(sorted[middle]);
+        node.left = build(sorted, from, middle);
+        node.right = build(sorted, middle + 1, to);
+        update(node);
+        return node;
     }
 
-    private Node insert(Node node, int value) {
+    private static void paintLevelRed(Node node, int depth) {
         if (node == null) {
-            return new Node(value);
+            return;
         }
+        if (depth == 0) {
+            node.red = true;
+            return;
+        }
+        paintLevelRed(node.left, depth - 1);
+        paintLevelRed(node.right, depth - 1);
+    }
 
-        if (value < node.value) {
-            node.left = insert(node.left, value);
-        } else if (value > node.value) {
-            node.right = insert(node.right, value);
-        } else {
-            return node;
+    private static boolean isStrictlyAscending(int[] values, int count) {
+        for (int i = 1; i < count; i++) {
+            if (values[i - 1] >= values[i]) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        updateHeight(node);
-        return rebalance(node);
+    private static boolean isAscending(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] > values[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void inOrder(Node node, List<Integer> values) {
@@ -189,30 +1477,44 @@ public class BinarySearchTree {
         return balance <= 1 && isBalanced(node.left) && isBalanced(node.right);
     }
 
-    private void appendChildren(StringBuilder builder, Node node, String prefix) {
-        Node[] children = new Node[2];
-        int count = 0;
-
-        if (node.left != null) {
-            children[count++] = node.left;
+    /**
+     * @return the number of black nodes on every path from {@code node} down to a leaf,
+     * or -1 if the subtree breaks a red-black rule
+     */
+    private static int blackHeight(Node node) {
+        if (node == null) {
+            return 0;
         }
-        if (node.right != null) {
-            children[count++] = node.right;
+        if (node.red && (isRed(node.left) || isRed(node.right))) {
+            return -1;
         }
+        int left = blackHeight(node.left);
+        int right = blackHeight(node.right);
+        if (left < 0 || left != right) {
+            return -1;
+        }
+        return node.red ? left : left + 1;
+    }
 
-        for (int i = 0; i < count; i++) {
-            Node child = children[i];
-            boolean isLast = i == count - 1;
-
-            builder.append(prefix);
-            builder.append(isLast ? "\\-- " : "|-- ");
-            builder.append(child.value).append('\n');
+    private static boolean isWeightBalanced(Node node) {
+        if (node == null) {
+            return true;
+        }
+        long leftWeight = nodeSize(node.left) + 1L;
+        long rightWeight = nodeSize(node.right) + 1L;
+        return leftWeight <= WEIGHT_DELTA * rightWeight && rightWeight <= WEIGHT_DELTA * leftWeight
+                && isWeightBalanced(node.left) && isWeightBalanced(node.right);
+    }
 
-            appendChildren(builder, child, prefix + (isLast ? "    " : "|   "));
+    private void replaceChild(Node parent, Node oldChild, Node newChild) {
+        if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
         }
     }
 
-    private Node rebalance(Node node) {
+    private static Node rebalance(Node node) {
         int balance = balanceFactor(node);
 
         // Left-heavy subtree
@@ -234,47 +1536,401 @@ public class BinarySearchTree {
         return node;
     }
 
-    private Node rotateLeft(Node node) {
+    private static Node rebalanceWeight(Node node) {
+        long leftWeight = nodeSize(node.left) + 1L;
+        long rightWeight = nodeSize(node.right) + 1L;
+
+        // Left subtree too heavy
+        if (leftWeight > WEIGHT_DELTA * rightWeight) {
+            Node left = node.left;
+            if (nodeSize(left.right) + 1L >= WEIGHT_GAMMA * (nodeSize(left.left) + 1L)) {
+                node.left = rotateLeft(left);
+            }
+            return rotateRight(node);
+        }
+
+        // Right subtree too heavy
+        if (rightWeight > WEIGHT_DELTA * leftWeight) {
+            Node right = node.right;
+            if (nodeSize(right.left) + 1L >= WEIGHT_GAMMA * (nodeSize(right.right) + 1L)) {
+                node.right = rotateRight(right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
         Node newRoot = node.right;
         Node movedSubtree = newRoot.left;
 
         newRoot.left = node;
         node.right = movedSubtree;
 
-        updateHeight(node);
-        updateHeight(newRoot);
+        update(node);
+        update(newRoot);
 
         return newRoot;
     }
 
-    private Node rotateRight(Node node) {
+    private static Node rotateRight(Node node) {
         Node newRoot = node.left;
         Node movedSubtree = newRoot.right;
 
         newRoot.right = node;
         node.left = movedSubtree;
 
-        updateHeight(node);
-        updateHeight(newRoot);
+        update(node);
+        update(newRoot);
 
         return newRoot;
     }
 
-    private int balanceFactor(Node node) {
+    private static int balanceFactor(Node node) {
         return nodeHeight(node.left) - nodeHeight(node.right);
     }
 
-    private void updateHeight(Node node) {
-        node.height = 1 + Math.max(nodeHeight(node.left), nodeHeight(node.right));
+    private static void update(Node node) {
+        node.height = (byte) (1 + Math.max(nodeHeight(node.left), nodeHeight(node.right)));
+        node.size = 1 + nodeSize(node.left) + nodeSize(node.right);
     }
 
-    private int nodeHeight(Node node) {
+    private static int nodeHeight(Node node) {
         return node == null ? 0 : node.height;
     }
 
+    private static int nodeSize(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static boolean isRed(Node node) {
+        return node != null && node.red;
+    }
+
+    private enum SetOperation {
+        UNION, INTERSECTION, DIFFERENCE
+    }
+
+    /**
+     * Result of a split: the trees below and above the split value and the node that held
+     * the split value ({@code null} if it was not present).
+     */
+    private static final class Split {
+        private Node left;
+        private final Node middle;
+        private Node right;
+
+        private Split(Node left, Node middle, Node right) {
+            this.left = left;
+            this.middle = middle;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Divide-and-conquer set operation: split the second tree at the root value of the first,
+     * combine the left and right halves independently (in parallel above
+     * {@link #PARALLEL_THRESHOLD}) and join the results again. The inputs are only read; a
+     * subtree that is taken over unchanged is copied by the task that reaches it, so the
+     * copying is spread over the tasks and skipped entirely for dropped subtrees.
+     */
+    private static final class SetTask extends RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L;
+
+        private final SetOperation operation;
+        private final Balancing balancing;
+        private final Node first;
+        private final Node second;
+
+        private SetTask(SetOperation operation, Balancing balancing, Node first, Node second) {
+            this.operation = operation;
+            this.balancing = balancing;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        protected Node compute() {
+            if (first == null) {
+                return operation == SetOperation.UNION ? copy(second) : null;
+            }
+            if (second == null) {
+                return operation == SetOperation.INTERSECTION ? null : copy(first);
+            }
+
+            boolean parallel = nodeSize(first) + nodeSize(second) > PARALLEL_THRESHOLD;
+            Split split = split(balancing, second, first.value);
+            Node firstLeft = first.left;
+            Node firstRight = first.right;
+            Node left;
+            Node right;
+            if (parallel) {
+                SetTask leftTask = new SetTask(operation, balancing, firstLeft, split.left);
+                leftTask.fork();
+                right = new SetTask(operation, balancing, firstRight, split.right).compute();
+                left = leftTask.join();
+            } else {
+                left = new SetTask(operation, balancing, firstLeft, split.left).compute();
+                right = new SetTask(operation, balancing, firstRight, split.right).compute();
+            }
+
+            boolean keepRoot = switch (operation) {
+                case UNION -> true;
+                case INTERSECTION -> split.middle != null;
+                case DIFFERENCE -> split.middle == null;
+            };
+            return keepRoot
+                    ? BinarySearchTree.join(balancing, left, first, right)
+                    : BinarySearchTree.join(balancing, left, right);
+        }
+    }
+
+    /**
+     * In-order iterator with an explicit stack. The stack holds the nodes whose value and
+     * right subtree have not been visited yet, with the next value on top.
+     */
+    private static final class ValueIterator implements PrimitiveIterator.OfInt {
+        private final Node[] stack = new Node[MAX_HEIGHT];
+        private final int high;
+        private int depth;
+
+        private ValueIterator(Node root, int low, int high) {
+            this.high = high;
+            Node current = root;
+            while (current != null) {
+                if (current.value >= low) {
+                    stack[depth++] = current;
+                    current = current.left;
+                } else {
+                    current = current.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0 && stack[depth - 1].value <= high;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node node = stack[--depth];
+            stack[depth] = null;
+            for (Node current = node.right; current != null; current = current.left) {
+                stack[depth++] = current;
+            }
+            return node.value;
+        }
+    }
+
+    /**
+     * Spliterator over a single {@code head} value followed by all values of {@code subtree}.
+     * <p>
+     * Splitting a part {@code (head, left-value-right)} hands out {@code (head, left)} as the
+     * prefix and keeps {@code (value, right)}, so every split happens at a subtree root and
+     * both halves know their exact size from the stored subtree sizes. Once traversal has
+     * started the remaining part is no longer split.
+     * </p>
+     */
+    private static final class SubtreeSpliterator implements Spliterator.OfInt {
+        private Node head;
+        private Node subtree;
+        private long remaining;
+        private ValueIterator iterator;
+
+        private SubtreeSpliterator(Node head, Node subtree) {
+            this.head = head;
+            this.subtree = subtree;
+            this.remaining = (head == null ? 0 : 1) + nodeSize(subtree);
+        }
+
+        @Override
+        public OfInt trySplit() {
+            if (iterator != null) {
+                return null;
+            }
+            while (subtree != null) {
+                Node splitRoot = subtree;
+                SubtreeSpliterator prefix = new SubtreeSpliterator(head, splitRoot.left);
+                head = splitRoot;
+                subtree = splitRoot.right;
+                remaining = 1 + nodeSize(subtree);
+                if (prefix.remaining > 0) {
+                    return prefix;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (iterator == null) {
+                iterator = new ValueIterator(subtree, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+            int value;
+            if (head != null) {
+                value = head.value;
+                head = null;
+            } else if (iterator.hasNext()) {
+                value = iterator.nextInt();
+            } else {
+                return false;
+            }
+            remaining--;
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+
+    /**
+     * Streams the tree view of {@link #printTree(Appendable, int, int)}.
+     */
+    private static final class TreePrinter {
+        private static final int INDENT = 4;
+
+        private final Appendable out;
+        /** {@code out} if it is a Writer, so lines can be written without a CharSequence. */
+        private final Writer writer;
+        /** {@code out} if it is a StringBuilder, so lines can be appended without a CharSequence. */
+        private final StringBuilder builder;
+        private final int maxDepth;
+        private final int maxNodes;
+        /**
+         * Current output line. The first {@code INDENT * depth} characters are the prefix of
+         * the current node and stay in place while its subtree is printed; every line is
+         * completed behind them (connector, sign and up to ten digits, newline) and written
+         * with a single call.
+         */
+        private final char[] line = new char[INDENT * (MAX_HEIGHT + 1) + 12];
+        private int printed;
+
+        private TreePrinter(Appendable out, int maxDepth, int maxNodes) {
+            this.out = out;
+            this.writer = out instanceof Writer w ? w : null;
+            this.builder = out instanceof StringBuilder b ? b : null;
+            this.maxDepth = maxDepth;
+            this.maxNodes = maxNodes;
+        }
+
+        private void print(Node root) throws IOException {
+            if (maxNodes == 0) {
+                out.append("...\n");
+                return;
+            }
+            writeLine(appendValue(0, root.value));
+            printed = 1;
+            printChildren(root, 0);
+        }
+
+        /**
+         * @return {@code false} once the node budget is used up and printing must stop
+         */
+        private boolean printChildren(Node node, int depth) throws IOException {
+            if (node.left == null && node.right == null) {
+                return true;
+            }
+            int prefixLength = INDENT * depth;
+            if (depth == maxDepth) {
+                writeLine(appendEllipsis(appendConnector(prefixLength, true)));
+                return true;
+            }
+            if (node.left != null && !printChild(node.left, node.right == null, depth, prefixLength)) {
+                return false;
+            }
+            return node.right == null || printChild(node.right, true, depth, prefixLength);
+        }
+
+        private boolean printChild(Node child, boolean isLast, int depth, int prefixLength) throws IOException {
+            int length = appendConnector(prefixLength, isLast);
+            if (printed == maxNodes) {
+                writeLine(appendEllipsis(length));
+                return false;
+            }
+            writeLine(appendValue(length, child.value));
+            printed++;
+
+            line[prefixLength] = isLast ? ' ' : '|';
+            line[prefixLength + 1] = ' ';
+            line[prefixLength + 2] = ' ';
+            line[prefixLength + 3] = ' ';
+            return printChildren(child, depth + 1);
+        }
+
+        /**
+         * Puts the connector of a child behind the prefix.
+         *
+         * @return the length of the line so far
+         */
+        private int appendConnector(int prefixLength, boolean isLast) {
+            line[prefixLength] = isLast ? '\\' : '|';
+            line[prefixLength + 1] = '-';
+            line[prefixLength + 2] = '-';
+            line[prefixLength + 3] = ' ';
+            return prefixLength + INDENT;
+        }
+
+        private int appendEllipsis(int length) {
+            line[length] = '.';
+            line[length + 1] = '.';
+            line[length + 2] = '.';
+            return length + 3;
+        }
+
+        private int appendValue(int length, int value) {
+            long remaining = value;
+            if (remaining < 0) {
+                line[length++] = '-';
+                remaining = -remaining;
+            }
+            int end = length + 1;
+            for (long rest = remaining / 10; rest != 0; rest /= 10) {
+                end++;
+            }
+            for (int i = end - 1; i >= length; i--) {
+                line[i] = (char) ('0' + remaining % 10);
+                remaining /= 10;
+            }
+            return end;
+        }
+
+        private void writeLine(int length) throws IOException {
+            line[length] = '\n';
+            if (writer != null) {
+                writer.write(line, 0, length + 1);
+            } else if (builder != null) {
+                builder.append(line, 0, length + 1);
+            } else {
+                out.append(CharBuffer.wrap(line, 0, length + 1));
+            }
+        }
+    }
+
     private static final class Node {
         private final int value;
-        private int height = 1;
+        private int size = 1;
+        /** A byte is enough for {@link #MAX_HEIGHT} and leaves room for the color without growing the node. */
+        private byte height = 1;
+        /** Only used by {@link Balancing#RED_BLACK}. */
+        private boolean red;
         private Node left;
         private Node right;
 
@@ -0,0 +1,131 @@
+package de.lukas.searchtree;
+
+import java.util.List;
+
+/**
+ * A thread-safe AVL tree for {@code int} values, built for many readers and few writers.
+ * <p>
+ * The current contents are a {@link PersistentBinarySearchTree}. A writer never changes an
+ * existing node: it derives a new version by copying the nodes on the path from the root to
+ * the changed position (O(log n) new nodes), reuses every untouched subtree, and then
+ * publishes the new version through a {@code volatile} field. Readers just read the current
+ * version once and walk it without any locking, so lookups never block and never see a
+ * half-finished rotation. For the same reason {@link #snapshot()} is O(1).
+ * </p>
+ * <p>
+ * Writers are serialized with the object's monitor. Duplicate values are ignored.
+ * </p>
+ */
+public class ConcurrentBinarySearchTree {
+    private volatile PersistentBinarySearchTree current = PersistentBinarySearchTree.empty();
+
+    /**
+     * Creates an empty tree.
+     */
+    public ConcurrentBinarySearchTree() {
+    }
+
+    /**
+     * Creates a tree and inserts all given values.
+     *
+     * @param values values to insert (duplicates are ignored)
+     */
+    public ConcurrentBinarySearchTree(int... values) {
+        current = PersistentBinarySearchTree.of(values);
+    }
+
+    /**
+     * Inserts a value and publishes the new version of the tree.
+     *
+     * @param value the value to insert
+     * @return {@code true} if the value was newly added
+     */
+    public synchronized boolean insert(int value) {
+        PersistentBinarySearchTree oldVersion = current;
+        PersistentBinarySearchTree newVersion = oldVersion.insert(value);
+        if (newVersion == oldVersion) {
+            return false;
+        }
+        current = newVersion;
+        return true;
+    }
+
+    /**
+     * Removes a value and publishes the new version of the tree.
+     *
+     * @param value the value to remove
+     * @return {@code true} if the value was present
+     */
+    public synchronized boolean remove(int value) {
+        PersistentBinarySearchTree oldVersion = current;
+        PersistentBinarySearchTree newVersion = oldVersion.remove(value);
+        if (newVersion == oldVersion) {
+            return false;
+        }
+        current = newVersion;
+        return true;
+    }
+
+    /**
+     * Returns the current version of the tree in O(1). The snapshot is immutable, is not
+     * affected by later writes and can be read from any thread.
+     *
+     * @return point-in-time view of the tree
+     */
+    public PersistentBinarySearchTree snapshot() {
+        return current;
+    }
+
+    /**
+     * Checks if the tree contains a value. Never blocks, even while a writer is active.
+     *
+     * @param value the value to search for
+     * @return {@code true} if the value exists in the current version of the tree
+     */
+    public boolean contains(int value) {
+        return current.contains(value);
+    }
+
+    /**
+     * @return number of values currently stored in the tree
+     */
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * @return {@code true} when the tree contains no values
+     */
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    /**
+     * Returns the height of the whole tree.
+     * Empty tree = 0, single node = 1.
+     *
+     * @return tree height
+     */
+    public int height() {
+        return current.height();
+    }
+
+    /**
+     * Returns the values of one consistent version of the tree in sorted order.
+     *
+     * @return sorted list of all values in the tree
+     */
+    public List<Integer> inOrder() {
+        return current.inOrder();
+    }
+
+    /**
+     * Helper method for learning/testing: verifies that every node in the tree
+     * currently satisfies the AVL balance rule.
+     *
+     * @return {@code true} if the tree is balanced
+     */
+    public boolean isBalanced() {
+        return current.isBalanced();
+    }
+}
@@ -0,0 +1,30 @@
+package de.lukas.searchtree;
+
+/**
+ * Snapshot of the membership filter counters of a {@link BinarySearchTree}, see
+ * {@link BinarySearchTree#filterStats()}. The counters survive rebuilds of the filter and
+ * stay 0 unless {@link BinarySearchTree#statsEnabled()} is {@code true}.
+ *
+ * @param lookups        number of {@code contains} calls that consulted the filter
+ * @param definiteMisses lookups the filter answered alone, without touching the tree
+ * @param falsePositives lookups the filter passed on for values that were not in the tree
+ * @param bits           size of the filter's bit array
+ * @param hashes         number of bits set per value
+ */
+public record FilterStats(long lookups, long definiteMisses, long falsePositives, long bits, int hashes) {
+
+    /**
+     * @return lookups that had to walk the tree
+     */
+    public long passedToTree() {
+        return lookups - definiteMisses;
+    }
+
+    /**
+     * @return share of absent values the filter did not recognize as absent, 0 if there were none
+     */
+    public double observedFalsePositiveRate() {
+        long absent = definiteMisses + falsePositives;
+        return absent == 0 ? 0 : (double) falsePositives / absent;
+    }
+}
@@ -0,0 +1,122 @@
+package de.lukas.searchtree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+
+/**
+ * An immutable, read-only copy of a {@link BinarySearchTree} in a cache-friendly layout.
+ * <p>
+ * The values are stored in one {@code int[]} in Eytzinger (breadth-first) order: the root is
+ * at index 1 and the children of index {@code k} are at {@code 2k} and {@code 2k + 1}. The
+ * top levels of the implicit tree therefore share a few cache lines, there are no pointers to
+ * chase, and a lookup is a short loop without a data-dependent branch:
+ * {@code k = 2k + (values[k] < x ? 1 : 0)}, which the JIT compiles to a conditional move.
+ * </p>
+ * <p>
+ * Create instances with {@link BinarySearchTree#freeze()}.
+ * </p>
+ */
+public final class FrozenBinarySearchTree {
+    /** Eytzinger layout, index 0 unused. */
+    private final int[] values;
+    private final int size;
+
+    FrozenBinarySearchTree(PrimitiveIterator.OfInt sortedValues, int size) {
+        this.size = size;
+        this.values = new int[size + 1];
+        fill(sortedValues, 1);
+    }
+
+    /**
+     * Checks if the tree contains a value.
+     *
+     * @param value the value to search for
+     * @return {@code true} if the value exists in the tree
+     */
+    public boolean contains(int value) {
+        int index = lowerBound(value);
+        return index != 0 && values[index] == value;
+    }
+
+    /**
+     * @param value the search value
+     * @return the smallest stored value {@code >= value}, or empty if there is none
+     */
+    public OptionalInt ceiling(int value) {
+        int index = lowerBound(value);
+        return index == 0 ? OptionalInt.empty() : OptionalInt.of(values[index]);
+    }
+
+    /**
+     * @return number of values stored in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} when the tree contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the height of the implicit tree, which is always minimal.
+     * Empty tree = 0, single node = 1.
+     *
+     * @return tree height
+     */
+    public int height() {
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    /**
+     * Returns the values in sorted order (in-order traversal).
+     *
+     * @return sorted list of all values in the tree
+     */
+    public List<Integer> inOrder() {
+        List<Integer> result = new ArrayList<>(size);
+        inOrder(1, result);
+        return result;
+    }
+
+    /**
+     * Returns the Eytzinger index of the smallest value {@code >= value}, or 0 if there is none.
+     * <p>
+     * The loop always runs to the bottom of the implicit tree. Every right turn appends a 1 bit
+     * to {@code index}; the answer is the last node where the search turned left, which is
+     * found by stripping the trailing 1 bits plus one more bit.
+     * </p>
+     */
+    private int lowerBound(int value) {
+        int[] values = this.values;
+        int size = this.size;
+        int index = 1;
+        while (index <= size) {
+            index = 2 * index + (values[index] < value ? 1 : 0);
+        }
+        return index >>> (Integer.numberOfTrailingZeros(~index) + 1);
+    }
+
+    private void fill(PrimitiveIterator.OfInt sortedValues, int index) {
+        if (index > size) {
+            return;
+        }
+        fill(sortedValues, 2 * index);
+        values[index] = sortedValues.nextInt();
+        fill(sortedValues, 2 * index + 1);
+    }
+
+    private void inOrder(int index, List<Integer> result) {
+        if (index > size) {
+            return;
+        }
+        inOrder(2 * index, result);
+        result.add(values[index]);
+        inOrder(2 * index + 1, result);
+    }
+}
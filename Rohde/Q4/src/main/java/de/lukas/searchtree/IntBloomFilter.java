@@ -0,0 +1,135 @@
+package de.lukas.searchtree;
+
+/**
+ * Bloom filter over {@code int} values, used by {@link BinarySearchTree} to answer most
+ * {@code contains} misses without walking the tree.
+ * <p>
+ * The bit array has a power-of-two length so a probe is a mask instead of a division. The
+ * {@code k} probe positions come from one 64-bit hash split into two halves
+ * ({@code h1 + i * h2}, Kirsch and Mitzenmacher), and a lookup stops at the first clear bit,
+ * so a miss usually costs one or two memory accesses.
+ * </p>
+ * <p>
+ * Values cannot be removed from a Bloom filter. Removed values stay in it as stale entries
+ * that only raise the false-positive rate, and the owner rebuilds the filter when too many
+ * accumulate, see {@link #isStale()}.
+ * </p>
+ */
+final class IntBloomFilter {
+    private final long[] bits;
+    private final int mask;
+    private final int hashes;
+    private final int capacity;
+    private final double falsePositiveRate;
+
+    /** Values added and removed since the filter was built. */
+    private int added;
+    private int removed;
+
+    /** Lookup counters, only updated when {@link BinarySearchTree#STATS_ENABLED} is set. */
+    private long lookups;
+    private long definiteMisses;
+    private long falsePositives;
+
+    /**
+     * @param capacity          number of values the filter is sized for
+     * @param falsePositiveRate target false-positive rate at {@code capacity} values
+     */
+    IntBloomFilter(int capacity, double falsePositiveRate) {
+        double bitsPerValue = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long wanted = (long) Math.ceil(capacity * bitsPerValue);
+        // Rounded up to a power of two, capped at 2^30 bits (128 MiB).
+        int bitCount = (int) Math.min(1L << 30, Math.max(64, Long.highestOneBit(wanted - 1) << 1));
+        this.bits = new long[bitCount >>> 6];
+        this.mask = bitCount - 1;
+        this.hashes = (int) Math.max(1, Math.round(bitsPerValue * Math.log(2)));
+        this.capacity = capacity;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    void add(int value) {
+        long hash = mix(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        added++;
+    }
+
+    /**
+     * @return {@code false} if {@code value} was definitely never added
+     */
+    boolean mightContain(int value) {
+        if (BinarySearchTree.STATS_ENABLED) {
+            lookups++;
+        }
+        long hash = mix(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                if (BinarySearchTree.STATS_ENABLED) {
+                    definiteMisses++;
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records that {@link #mightContain(int)} returned {@code true} for an absent value.
+     * Only called when statistics are enabled.
+     */
+    void falsePositive() {
+        falsePositives++;
+    }
+
+    /**
+     * Records that a value was removed from the owner; its bits stay set.
+     */
+    void removed() {
+        removed++;
+    }
+
+    /**
+     * @return {@code true} once more than a quarter of the added values have been removed
+     * again, or more values were added than the filter was sized for
+     */
+    boolean isStale() {
+        return removed > added / 4 || added - removed > capacity;
+    }
+
+    double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    FilterStats stats() {
+        return new FilterStats(lookups, definiteMisses, falsePositives, (long) bits.length << 6, hashes);
+    }
+
+    /**
+     * Copies the lookup counters of an older filter, so they survive a rebuild.
+     */
+    void keepCounters(IntBloomFilter previous) {
+        lookups = previous.lookups;
+        definiteMisses = previous.definiteMisses;
+        falsePositives = previous.falsePositives;
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3: every input bit affects every output bit.
+     */
+    private static long mix(int value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,185 @@
+package de.lukas.searchtree;
+
+/**
+ * An ordered map from {@code int} keys to {@code long} values based on an AVL tree.
+ * <p>
+ * Keys and values are stored unboxed in the nodes, so {@code put} and {@code get} allocate
+ * nothing apart from one node per new key. The rotations are shared with
+ * {@link AvlTreeMap} through {@link AvlBalancing}.
+ * </p>
+ */
+public class IntLongTreeMap {
+    private Node root;
+    private int size;
+
+    /** Set by the recursive put/remove when the key was present. */
+    private boolean found;
+
+    /**
+     * Receives the mappings of {@link #forEach(EntryConsumer)}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, long value);
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, replacing an existing mapping.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return {@code true} if the key was newly added, {@code false} if an existing value was replaced
+     */
+    public boolean put(int key, long value) {
+        found = false;
+        root = put(root, key, value);
+        if (found) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * @param key          the key
+     * @param defaultValue value to return if the key is not present
+     * @return the value for {@code key}, or {@code defaultValue}
+     */
+    public long getOrDefault(int key, long defaultValue) {
+        Node node = find(key);
+        return node == null ? defaultValue : node.value;
+    }
+
+    /**
+     * @param key the key
+     * @return {@code true} if the map contains {@code key}
+     */
+    public boolean containsKey(int key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Removes the mapping for {@code key}.
+     *
+     * @param key the key
+     * @return {@code true} if the key was present
+     */
+    public boolean remove(int key) {
+        found = false;
+        root = remove(root, key);
+        if (!found) {
+            return false;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Calls {@code action} for every mapping in ascending key order.
+     *
+     * @param action the action to perform
+     */
+    public void forEach(EntryConsumer action) {
+        forEach(root, action);
+    }
+
+    /**
+     * @return number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} when the map has no mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Helper method for learning/testing: verifies that every node in the tree
+     * currently satisfies the AVL balance rule.
+     *
+     * @return {@code true} if the tree is balanced
+     */
+    public boolean isBalanced() {
+        return AvlBalancing.isBalanced(root);
+    }
+
+    private Node find(int key) {
+        Node current = root;
+        while (current != null) {
+            if (key < current.key) {
+                current = current.left;
+            } else if (key > current.key) {
+                current = current.right;
+            } else {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private Node put(Node node, int key, long value) {
+        if (node == null) {
+            return new Node(key, value);
+        }
+        if (key < node.key) {
+            node.left = put(node.left, key, value);
+        } else if (key > node.key) {
+            node.right = put(node.right, key, value);
+        } else {
+            found = true;
+            node.value = value;
+            return node;
+        }
+        return AvlBalancing.rebalance(node);
+    }
+
+    private Node remove(Node node, int key) {
+        if (node == null) {
+            return null;
+        }
+        if (key < node.key) {
+            node.left = remove(node.left, key);
+        } else if (key > node.key) {
+            node.right = remove(node.right, key);
+        } else {
+            found = true;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node.value = successor.value;
+            node.right = remove(node.right, successor.key);
+        }
+        return AvlBalancing.rebalance(node);
+    }
+
+    private static void forEach(Node node, EntryConsumer action) {
+        if (node == null) {
+            return;
+        }
+        forEach(node.left, action);
+        action.accept(node.key, node.value);
+        forEach(node.right, action);
+    }
+
+    private static final class Node extends AvlNode<Node> {
+        private int key;
+        private long value;
+
+        private Node(int key, long value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
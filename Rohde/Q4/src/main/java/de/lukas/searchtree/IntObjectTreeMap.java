@@ -0,0 +1,199 @@
+package de.lukas.searchtree;
+
+/**
+ * An ordered map from {@code int} keys to object values based on an AVL tree.
+ * <p>
+ * Keys are stored unboxed in the nodes, so lookups never create an {@link Integer}.
+ * The rotations are shared with {@link AvlTreeMap} through {@link AvlBalancing}.
+ * {@code null} values are allowed.
+ * </p>
+ *
+ * @param <V> value type
+ */
+public class IntObjectTreeMap<V> {
+    private Node<V> root;
+    private int size;
+
+    /** Result of the last recursive put/remove: the old value and whether the key existed. */
+    private V previousValue;
+    private boolean found;
+
+    /**
+     * Receives the mappings of {@link #forEach(EntryConsumer)}.
+     *
+     * @param <V> value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, replacing an existing mapping.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or {@code null} if the key was not present
+     */
+    public V put(int key, V value) {
+        found = false;
+        previousValue = null;
+        root = put(root, key, value);
+        if (!found) {
+            size++;
+        }
+        return takePreviousValue();
+    }
+
+    /**
+     * @param key the key
+     * @return the value for {@code key}, or {@code null} if the key is not present
+     */
+    public V get(int key) {
+        Node<V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * @param key the key
+     * @return {@code true} if the map contains {@code key}
+     */
+    public boolean containsKey(int key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Removes the mapping for {@code key}.
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if the key was not present
+     */
+    public V remove(int key) {
+        found = false;
+        previousValue = null;
+        root = remove(root, key);
+        if (found) {
+            size--;
+        }
+        return takePreviousValue();
+    }
+
+    /**
+     * Calls {@code action} for every mapping in ascending key order.
+     *
+     * @param action the action to perform
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * @return number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} when the map has no mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Helper method for learning/testing: verifies that every node in the tree
+     * currently satisfies the AVL balance rule.
+     *
+     * @return {@code true} if the tree is balanced
+     */
+    public boolean isBalanced() {
+        return AvlBalancing.isBalanced(root);
+    }
+
+    private Node<V> find(int key) {
+        Node<V> current = root;
+        while (current != null) {
+            if (key < current.key) {
+                current = current.left;
+            } else if (key > current.key) {
+                current = current.right;
+            } else {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private Node<V> put(Node<V> node, int key, V value) {
+        if (node == null) {
+            return new Node<>(key, value);
+        }
+        if (key < node.key) {
+            node.left = put(node.left, key, value);
+        } else if (key > node.key) {
+            node.right = put(node.right, key, value);
+        } else {
+            found = true;
+            previousValue = node.value;
+            node.value = value;
+            return node;
+        }
+        return AvlBalancing.rebalance(node);
+    }
+
+    private Node<V> remove(Node<V> node, int key) {
+        if (node == null) {
+            return null;
+        }
+        if (key < node.key) {
+            node.left = remove(node.left, key);
+        } else if (key > node.key) {
+            node.right = remove(node.right, key);
+        } else {
+            if (!found) {
+                found = true;
+                previousValue = node.value;
+            }
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node.value = successor.value;
+            node.right = remove(node.right, successor.key);
+        }
+        return AvlBalancing.rebalance(node);
+    }
+
+    private static <V> void forEach(Node<V> node, EntryConsumer<? super V> action) {
+        if (node == null) {
+            return;
+        }
+        forEach(node.left, action);
+        action.accept(node.key, node.value);
+        forEach(node.right, action);
+    }
+
+    private V takePreviousValue() {
+        V value = previousValue;
+        previousValue = null;
+        return value;
+    }
+
+    private static final class Node<V> extends AvlNode<Node<V>> {
+        private int key;
+        private V value;
+
+        private Node(int key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package de.lukas.searchtree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable (persistent) AVL tree for {@code int} values.
+ * <p>
+ * {@link #insert(int)} and {@link #remove(int)} never change a tree; they return a new tree
+ * that shares all untouched subtrees with the old one and only copies the O(log n) nodes on
+ * the changed path (path copying). Every version therefore stays valid and can be kept as a
+ * cheap point-in-time snapshot. Because all fields are final, a tree can be handed to other
+ * threads and read there without any synchronization.
+ * </p>
+ * <p>
+ * Duplicate values are ignored.
+ * </p>
+ */
+public final class PersistentBinarySearchTree {
+    private static final PersistentBinarySearchTree EMPTY = new PersistentBinarySearchTree(null);
+
+    private final Node root;
+
+    private PersistentBinarySearchTree(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @return the empty tree
+     */
+    public static PersistentBinarySearchTree empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a tree containing all given values.
+     *
+     * @param values values to insert (duplicates are ignored)
+     * @return a tree with all distinct values
+     */
+    public static PersistentBinarySearchTree of(int... values) {
+        PersistentBinarySearchTree tree = EMPTY;
+        for (int value : values) {
+            tree = tree.insert(value);
+        }
+        return tree;
+    }
+
+    /**
+     * Returns a tree that additionally contains {@code value}.
+     *
+     * @param value the value to insert
+     * @return the new version, or this tree if the value was already present
+     */
+    public PersistentBinarySearchTree insert(int value) {
+        Node newRoot = insert(root, value);
+        return newRoot == root ? this : new PersistentBinarySearchTree(newRoot);
+    }
+
+    /**
+     * Returns a tree without {@code value}.
+     *
+     * @param value the value to remove
+     * @return the new version, or this tree if the value was not present
+     */
+    public PersistentBinarySearchTree remove(int value) {
+        Node newRoot = remove(root, value);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? EMPTY : new PersistentBinarySearchTree(newRoot);
+    }
+
+    /**
+     * Checks if the tree contains a value.
+     *
+     * @param value the value to search for
+     * @return {@code true} if the value exists in the tree
+     */
+    public boolean contains(int value) {
+        Node current = root;
+        while (current != null) {
+            if (value < current.value) {
+                current = current.left;
+            } else if (value > current.value) {
+                current = current.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of values stored in the tree
+     */
+    public int size() {
+        return nodeSize(root);
+    }
+
+    /**
+     * @return {@code true} when the tree contains no values
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the height of the whole tree.
+     * Empty tree = 0, single node = 1.
+     *
+     * @return tree height
+     */
+    public int height() {
+        return nodeHeight(root);
+    }
+
+    /**
+     * Returns the values in sorted order (in-order traversal).
+     *
+     * @return sorted list of all values in the tree
+     */
+    public List<Integer> inOrder() {
+        List<Integer> values = new ArrayList<>(nodeSize(root));
+        inOrder(root, values);
+        return values;
+    }
+
+    /**
+     * Helper method for learning/testing: verifies that every node in the tree
+     * satisfies the AVL balance rule.
+     *
+     * @return {@code true} if the tree is balanced
+     */
+    public boolean isBalanced() {
+        return isBalanced(root);
+    }
+
+    private static Node insert(Node node, int value) {
+        if (node == null) {
+            return new Node(value, null, null);
+        }
+        if (value < node.value) {
+            Node left = insert(node.left, value);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        }
+        if (value > node.value) {
+            Node right = insert(node.right, value);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+        return node;
+    }
+
+    private static Node remove(Node node, int value) {
+        if (node == null) {
+            return null;
+        }
+        if (value < node.value) {
+            Node left = remove(node.left, value);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        }
+        if (value > node.value) {
+            Node right = remove(node.right, value);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, remove(node.right, successor.value));
+    }
+
+    /**
+     * Creates a node for {@code value} with the given children, applying a single or
+     * double rotation when the children's heights differ by more than one.
+     */
+    private static Node balance(int value, Node left, Node right) {
+        int leftHeight = nodeHeight(left);
+        int rightHeight = nodeHeight(right);
+
+        // Left-heavy subtree
+        if (leftHeight > rightHeight + 1) {
+            if (nodeHeight(left.left) >= nodeHeight(left.right)) {
+                return new Node(left.value, left.left, new Node(value, left.right, right));
+            }
+            Node pivot = left.right;
+            return new Node(pivot.value,
+                    new Node(left.value, left.left, pivot.left),
+                    new Node(value, pivot.right, right));
+        }
+
+        // Right-heavy subtree
+        if (rightHeight > leftHeight + 1) {
+            if (nodeHeight(right.right) >= nodeHeight(right.left)) {
+                return new Node(right.value, new Node(value, left, right.left), right.right);
+            }
+            Node pivot = right.left;
+            return new Node(pivot.value,
+                    new Node(value, left, pivot.left),
+                    new Node(right.value, pivot.right, right.right));
+        }
+
+        return new Node(value, left, right);
+    }
+
+    private static void inOrder(Node node, List<Integer> values) {
+        if (node == null) {
+            return;
+        }
+        inOrder(node.left, values);
+        values.add(node.value);
+        inOrder(node.right, values);
+    }
+
+    private static boolean isBalanced(Node node) {
+        if (node == null) {
+            return true;
+        }
+        int balance = Math.abs(nodeHeight(node.left) - nodeHeight(node.right));
+        return balance <= 1 && isBalanced(node.left) && isBalanced(node.right);
+    }
+
+    private static int nodeHeight(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int nodeSize(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Immutable tree node. All fields are final, so a node is always seen fully initialized
+     * by any thread that can reach it.
+     */
+    private static final class Node {
+        private final int value;
+        private final int height;
+        private final int size;
+        private final Node left;
+        private final Node right;
+
+        private Node(int value, Node left, Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(nodeHeight(left), nodeHeight(right));
+            this.size = 1 + nodeSize(left) + nodeSize(right);
+        }
+    }
+}
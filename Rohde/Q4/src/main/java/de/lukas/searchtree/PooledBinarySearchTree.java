@@ -0,0 +1,359 @@
+package de.lukas.searchtree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An AVL tree for {@code int} values that stores its nodes in parallel {@code int[]} arrays
+ * instead of one object per value.
+ * <p>
+ * A node is just an index into the arrays {@code values}, {@code left}, {@code right} and
+ * {@code heights}. Index {@code 0} is a sentinel for "no node" with height 0, so child
+ * lookups never need a {@code null} check. Slots of removed values are kept in a free list
+ * (linked through the {@code left} array) and reused by later inserts; the arrays grow
+ * when the pool is full.
+ * </p>
+ * <p>
+ * This costs 16 bytes per value and creates no garbage, which makes it suitable for sets of
+ * tens of millions of values. It offers the same API as {@link BinarySearchTree}.
+ * Duplicate values are ignored.
+ * </p>
+ */
+public class PooledBinarySearchTree {
+    private static final int NIL = 0;
+    private static final int MAX_HEIGHT = 64;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] values;
+    private int[] left;
+    private int[] right;
+    private int[] heights;
+
+    private int root = NIL;
+    private int size;
+    /** Next never-used slot. */
+    private int nextFree = 1;
+    /** Head of the list of released slots, {@link #NIL} if empty. */
+    private int freeList = NIL;
+
+    private final int[] path = new int[MAX_HEIGHT];
+
+    /**
+     * Creates an empty tree with a small initial capacity.
+     */
+    public PooledBinarySearchTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty tree that can hold {@code initialCapacity} values before it has to grow.
+     *
+     * @param initialCapacity expected number of values
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public PooledBinarySearchTree(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        int slots = Math.max(2, Math.min(MAX_CAPACITY, initialCapacity + 1));
+        values = new int[slots];
+        left = new int[slots];
+        right = new int[slots];
+        heights = new int[slots];
+    }
+
+    /**
+     * Inserts a value into the tree.
+     *
+     * @param value the value to insert
+     * @return {@code true} if the value was newly added, {@code false} if it was already present
+     */
+    public boolean insert(int value) {
+        if (root == NIL) {
+            root = allocate(value);
+            size++;
+            return true;
+        }
+
+        int[] values = this.values;
+        int depth = 0;
+        int current = root;
+        while (true) {
+            path[depth++] = current;
+            int currentValue = values[current];
+            if (value < currentValue) {
+                if (left[current] == NIL) {
+                    int node = allocate(value);
+                    left[current] = node;
+                    break;
+                }
+                current = left[current];
+            } else if (value > currentValue) {
+                if (right[current] == NIL) {
+                    int node = allocate(value);
+                    right[current] = node;
+                    break;
+                }
+                current = right[current];
+            } else {
+                return false;
+            }
+        }
+
+        size++;
+        rebalancePath(depth);
+        return true;
+    }
+
+    /**
+     * Removes a value from the tree and returns its slot to the free list.
+     *
+     * @param value the value to remove
+     * @return {@code true} if the value was present
+     */
+    public boolean remove(int value) {
+        int[] values = this.values;
+        int depth = 0;
+        int current = root;
+        while (current != NIL && values[current] != value) {
+            path[depth++] = current;
+            current = value < values[current] ? left[current] : right[current];
+        }
+        if (current == NIL) {
+            return false;
+        }
+
+        int target = current;
+        if (left[target] != NIL && right[target] != NIL) {
+            // Replace the value by its in-order successor and unlink the successor instead.
+            path[depth++] = target;
+            current = right[target];
+            while (left[current] != NIL) {
+                path[depth++] = current;
+                current = left[current];
+            }
+            values[target] = values[current];
+        }
+
+        int child = left[current] != NIL ? left[current] : right[current];
+        if (depth == 0) {
+            root = child;
+        } else {
+            replaceChild(path[depth - 1], current, child);
+        }
+        release(current);
+        size--;
+        rebalancePath(depth);
+        return true;
+    }
+
+    /**
+     * Checks if the tree contains a value.
+     *
+     * @param value the value to search for
+     * @return {@code true} if the value exists in the tree
+     */
+    public boolean contains(int value) {
+        int[] values = this.values;
+        int current = root;
+        while (current != NIL) {
+            int currentValue = values[current];
+            if (value < currentValue) {
+                current = left[current];
+            } else if (value > currentValue) {
+                current = right[current];
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of values currently stored in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} when the tree contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of values the tree can hold before its arrays grow
+     */
+    public int capacity() {
+        return values.length - 1;
+    }
+
+    /**
+     * Returns the height of the whole tree.
+     * Empty tree = 0, single node = 1.
+     *
+     * @return tree height
+     */
+    public int height() {
+        return heights[root];
+    }
+
+    /**
+     * Returns the values in sorted order (in-order traversal).
+     *
+     * @return sorted list of all values in the tree
+     */
+    public List<Integer> inOrder() {
+        List<Integer> result = new ArrayList<>(size);
+        int[] stack = new int[MAX_HEIGHT];
+        int depth = 0;
+        int current = root;
+        while (current != NIL || depth > 0) {
+            while (current != NIL) {
+                stack[depth++] = current;
+                current = left[current];
+            }
+            current = stack[--depth];
+            result.add(values[current]);
+            current = right[current];
+        }
+        return result;
+    }
+
+    /**
+     * Helper method for learning/testing: verifies that every node in the tree
+     * currently satisfies the AVL balance rule.
+     *
+     * @return {@code true} if the tree is balanced
+     */
+    public boolean isBalanced() {
+        return isBalanced(root);
+    }
+
+    private boolean isBalanced(int node) {
+        if (node == NIL) {
+            return true;
+        }
+        return Math.abs(balanceFactor(node)) <= 1 && isBalanced(left[node]) && isBalanced(right[node]);
+    }
+
+    private void rebalancePath(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            int node = path[i];
+            int oldHeight = heights[node];
+            updateHeight(node);
+            int subtree = rebalance(node);
+
+            if (i == 0) {
+                root = subtree;
+            } else if (subtree != node) {
+                replaceChild(path[i - 1], node, subtree);
+            }
+
+            if (heights[subtree] == oldHeight) {
+                return;
+            }
+        }
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (left[parent] == oldChild) {
+            left[parent] = newChild;
+        } else {
+            right[parent] = newChild;
+        }
+    }
+
+    private int rebalance(int node) {
+        int balance = balanceFactor(node);
+
+        // Left-heavy subtree
+        if (balance > 1) {
+            if (balanceFactor(left[node]) < 0) {
+                left[node] = rotateLeft(left[node]);
+            }
+            return rotateRight(node);
+        }
+
+        // Right-heavy subtree
+        if (balance < -1) {
+            if (balanceFactor(right[node]) > 0) {
+                right[node] = rotateRight(right[node]);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private int rotateLeft(int node) {
+        int newRoot = right[node];
+        right[node] = left[newRoot];
+        left[newRoot] = node;
+
+        updateHeight(node);
+        updateHeight(newRoot);
+
+        return newRoot;
+    }
+
+    private int rotateRight(int node) {
+        int newRoot = left[node];
+        left[node] = right[newRoot];
+        right[newRoot] = node;
+
+        updateHeight(node);
+        updateHeight(newRoot);
+
+        return newRoot;
+    }
+
+    private int balanceFactor(int node) {
+        return heights[left[node]] - heights[right[node]];
+    }
+
+    private void updateHeight(int node) {
+        heights[node] = 1 + Math.max(heights[left[node]], heights[right[node]]);
+    }
+
+    private int allocate(int value) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (nextFree == values.length) {
+                grow();
+            }
+            node = nextFree++;
+        }
+        values[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        heights[node] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = freeList;
+        right[node] = NIL;
+        heights[node] = 0;
+        freeList = node;
+    }
+
+    private void grow() {
+        int oldLength = values.length;
+        if (oldLength == MAX_CAPACITY) {
+            throw new IllegalStateException("Tree is full: " + size + " values");
+        }
+        int newLength = (int) Math.min(MAX_CAPACITY, oldLength + (oldLength >> 1) + 1L);
+        values = Arrays.copyOf(values, newLength);
+        left = Arrays.copyOf(left, newLength);
+        right = Arrays.copyOf(right, newLength);
+        heights = Arrays.copyOf(heights, newLength);
+    }
+}
@@ -0,0 +1,111 @@
+package de.lukas.searchtree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.PrimitiveIterator;
+
+/**
+ * Compact file format for a strictly ascending sequence of {@code int} values, used by
+ * {@link BinarySearchTree#writeTo(Path)} and {@link BinarySearchTree#mapFrom(Path)}.
+ * <p>
+ * Layout: the magic number {@code "BST1"} and the value count as big-endian {@code int}s,
+ * followed by one unsigned LEB128 varint per value. The first varint is the first value
+ * shifted into the unsigned range ({@code value ^ 0x80000000}), every following varint is the
+ * (always positive) distance to the previous value. Dense ID sets therefore need about one
+ * byte per value.
+ * </p>
+ */
+final class SortedIntFile {
+    private static final int MAGIC = 0x42535431; // "BST1"
+    private static final int HEADER_BYTES = 8;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private SortedIntFile() {
+    }
+
+    /**
+     * Writes {@code count} strictly ascending values to {@code file}, replacing its contents.
+     */
+    static void write(Path file, PrimitiveIterator.OfInt sortedValues, int count) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[BUFFER_BYTES];
+            int position = putInt(buffer, 0, MAGIC);
+            position = putInt(buffer, position, count);
+
+            long previous = Integer.MIN_VALUE;
+            while (sortedValues.hasNext()) {
+                if (position > BUFFER_BYTES - 5) {
+                    out.write(buffer, 0, position);
+                    position = 0;
+                }
+                int value = sortedValues.nextInt();
+                long delta = value - previous;
+                previous = value;
+                while (delta >= 0x80) {
+                    buffer[position++] = (byte) (delta | 0x80);
+                    delta >>>= 7;
+                }
+                buffer[position++] = (byte) delta;
+            }
+            out.write(buffer, 0, position);
+        }
+    }
+
+    /**
+     * Memory-maps {@code file} and decodes its values.
+     *
+     * @return the values in ascending order
+     * @throws IOException if the file cannot be read or is not a valid value file
+     */
+    static int[] read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a tree file: " + file);
+            }
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IOException("Corrupt tree file (bad count " + count + "): " + file);
+            }
+
+            int[] values = new int[count];
+            long previous = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                long delta = 0;
+                int shift = 0;
+                byte next;
+                do {
+                    next = buffer.get();
+                    delta |= (long) (next & 0x7F) << shift;
+                    shift += 7;
+                } while (next < 0 && shift < 35);
+
+                long value = previous + delta;
+                if (next < 0 || value > Integer.MAX_VALUE || (i > 0 && delta == 0)) {
+                    throw new IOException("Corrupt tree file at value " + i + ": " + file);
+                }
+                values[i] = (int) value;
+                previous = value;
+            }
+            return values;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated tree file: " + file, e);
+        }
+    }
+
+    private static int putInt(byte[] buffer, int position, int value) {
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+        return position + 4;
+    }
+}
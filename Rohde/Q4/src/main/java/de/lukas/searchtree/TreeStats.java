@@ -0,0 +1,108 @@
+package de.lukas.searchtree;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the statistics of a {@link BinarySearchTree}, see {@link BinarySearchTree#stats()}.
+ * <p>
+ * The counters are only collected when the JVM runs with
+ * {@code -Dde.lukas.searchtree.stats=true}; otherwise they stay 0. The depth histogram is
+ * computed from the tree when the snapshot is taken and is always available.
+ * </p>
+ *
+ * @param inserts                number of values that were newly inserted
+ * @param removals               number of values that were removed
+ * @param insertSingleRotations  single rotations done while rebalancing after inserts
+ * @param insertDoubleRotations  double rotations done while rebalancing after inserts
+ * @param removalSingleRotations single rotations done while rebalancing after removals
+ * @param removalDoubleRotations double rotations done while rebalancing after removals
+ * @param lookups                number of {@code contains} calls, including those the membership
+ *                               filter answered alone
+ * @param lookupComparisons      nodes visited by all {@code contains} calls together; calls the
+ *                               membership filter answered alone visit none
+ * @param depthHistogram         {@code depthHistogram[d]} = number of nodes at depth {@code d} (root = 0)
+ */
+public record TreeStats(long inserts, long removals, long insertSingleRotations, long insertDoubleRotations,
+                        long removalSingleRotations, long removalDoubleRotations,
+                        long lookups, long lookupComparisons, int[] depthHistogram) {
+
+    public TreeStats {
+        depthHistogram = depthHistogram.clone();
+    }
+
+    @Override
+    public int[] depthHistogram() {
+        return depthHistogram.clone();
+    }
+
+    /**
+     * @return single rotations after inserts and removals together
+     */
+    public long singleRotations() {
+        return insertSingleRotations + removalSingleRotations;
+    }
+
+    /**
+     * @return double rotations after inserts and removals together
+     */
+    public long doubleRotations() {
+        return insertDoubleRotations + removalDoubleRotations;
+    }
+
+    /**
+     * @return single rotations per insert, 0 if there were none
+     */
+    public double singleRotationsPerInsert() {
+        return inserts == 0 ? 0 : (double) insertSingleRotations / inserts;
+    }
+
+    /**
+     * @return double rotations per insert, 0 if there were none
+     */
+    public double doubleRotationsPerInsert() {
+        return inserts == 0 ? 0 : (double) insertDoubleRotations / inserts;
+    }
+
+    /**
+     * @return single rotations per removal, 0 if there were none
+     */
+    public double singleRotationsPerRemoval() {
+        return removals == 0 ? 0 : (double) removalSingleRotations / removals;
+    }
+
+    /**
+     * @return double rotations per removal, 0 if there were none
+     */
+    public double doubleRotationsPerRemoval() {
+        return removals == 0 ? 0 : (double) removalDoubleRotations / removals;
+    }
+
+    /**
+     * @return average number of nodes visited per {@code contains} call, 0 if there were none
+     */
+    public double averageComparisonsPerLookup() {
+        return lookups == 0 ? 0 : (double) lookupComparisons / lookups;
+    }
+
+    /**
+     * @return average depth of all nodes (root = 0), 0 for an empty tree
+     */
+    public double averageDepth() {
+        long nodes = 0;
+        long depthSum = 0;
+        for (int depth = 0; depth < depthHistogram.length; depth++) {
+            nodes += depthHistogram[depth];
+            depthSum += (long) depth * depthHistogram[depth];
+        }
+        return nodes == 0 ? 0 : (double) depthSum / nodes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TreeStats[inserts=%d, removals=%d, insertRotations=%d+%d, removalRotations=%d+%d, "
+                        + "lookups=%d, avgComparisons=%.2f, avgDepth=%.2f, depthHistogram=%s]",
+                inserts, removals, insertSingleRotations, insertDoubleRotations, removalSingleRotations,
+                removalDoubleRotations, lookups,
+                averageComparisonsPerLookup(), averageDepth(), Arrays.toString(depthHistogram));
+    }
+}
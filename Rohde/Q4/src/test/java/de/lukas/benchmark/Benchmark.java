@@ -0,0 +1,150 @@
+package de.lukas.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Tiny timing harness for the {@code *Benchmark} classes next to the tests.
+ * <p>
+ * Each measurement runs a few warm-up rounds so the JIT can compile the code under test,
+ * then reports the best of the measured rounds. Results of the measured code are folded
+ * into a volatile sink so the JIT cannot remove the work as dead code.
+ * </p>
+ * <p>
+ * The number of rounds can be changed with {@code -Dbench.warmup=N} and {@code -Dbench.rounds=N}.
+ * </p>
+ */
+public final class Benchmark {
+    private static final int WARMUP_ROUNDS = Integer.getInteger("bench.warmup", 3);
+    private static final int MEASURED_ROUNDS = Integer.getInteger("bench.rounds", 5);
+
+    private static volatile long sink;
+
+    private Benchmark() {
+    }
+
+    /**
+     * Measures {@code body} and prints the time per operation.
+     *
+     * @param label      name printed in front of the result
+     * @param operations number of operations one call of {@code body} performs
+     * @param body       the work to measure; its result is consumed so it cannot be optimized away
+     * @return best observed time per operation in nanoseconds
+     */
+    public static double measure(String label, long operations, LongSupplier body) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink ^= body.getAsLong();
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink ^= body.getAsLong();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double nanosPerOp = (double) best / operations;
+        System.out.printf("%-48s %10.1f ns/op %14.0f ops/s%n", label, nanosPerOp, 1e9 / nanosPerOp);
+        return nanosPerOp;
+    }
+
+    /**
+     * Runs {@code body} once after the warm-up rounds and prints how many bytes the current
+     * thread allocated per operation. Uses the HotSpot extension of {@code ThreadMXBean}; on
+     * other JVMs nothing is measured.
+     *
+     * @param label      name printed in front of the result
+     * @param operations number of operations one call of {@code body} performs
+     * @param body       the work to measure; must not hand work to other threads
+     * @return allocated bytes per operation, or {@code -1} if the JVM cannot measure it
+     */
+    public static double allocations(String label, long operations, LongSupplier body) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            System.out.printf("%-48s %10s%n", label, "n/a");
+            return -1;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink ^= body.getAsLong();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        sink ^= body.getAsLong();
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        double bytesPerOp = (double) allocated / operations;
+        System.out.printf("%-48s %10.1f B/op %15.1f MB total%n", label, bytesPerOp, allocated / 1e6);
+        return bytesPerOp;
+    }
+
+    /**
+     * Prints a section header.
+     *
+     * @param title section title
+     */
+    public static void section(String title) {
+        System.out.println();
+        System.out.println("=== " + title + " ===");
+    }
+
+    /**
+     * Returns {@code count} pseudo-random ints from a fixed seed, so runs are comparable.
+     *
+     * @param count number of values
+     * @param seed  random seed
+     * @return random values (may contain duplicates)
+     */
+    public static int[] randomInts(int count, long seed) {
+        return new SplittableRandom(seed).ints(count).toArray();
+    }
+
+    /**
+     * Returns {@code count} Zipf-distributed ints from a fixed seed: the value of rank
+     * {@code k} (1-based, out of {@code distinct}) is drawn with probability proportional to
+     * {@code 1 / k^exponent}. The ranks are scattered over the int range, so frequent values
+     * are not also neighbors.
+     *
+     * @param count    number of values
+     * @param distinct number of different values
+     * @param exponent skew, e.g. 0.99; larger means more skewed
+     * @param seed     random seed
+     * @return skewed values (with many duplicates)
+     */
+    public static int[] zipfInts(int count, int distinct, double exponent, long seed) {
+        double[] cumulative = new double[distinct];
+        double total = 0;
+        for (int k = 0; k < distinct; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            values[i] = rank * 0x9E3779B9; // odd multiplier: a bijection on int
+        }
+        return values;
+    }
+
+    /**
+     * Returns the values {@code 0 .. count-1} in ascending order.
+     *
+     * @param count number of values
+     * @return sorted values
+     */
+    public static int[] sortedInts(int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+}
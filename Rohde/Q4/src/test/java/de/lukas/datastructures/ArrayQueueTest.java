@@ -0,0 +1,85 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayQueueTest {
+
+    @Test
+    void behavesLikeLinkedQueue() {
+        ArrayQueue<String> queue = new ArrayQueue<>();
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.front());
+        assertNull(queue.dequeue());
+
+        queue.enqueue("A");
+        queue.enqueue("B");
+        queue.enqueue("C");
+
+        assertEquals("A", queue.front());
+        assertEquals("A", queue.dequeue());
+        assertEquals("B", queue.dequeue());
+        assertEquals("C", queue.dequeue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void matchesArrayDequeAcrossWrapAroundGrowthAndShrinking() {
+        for (boolean shrink : new boolean[]{false, true}) {
+            ArrayQueue<Integer> queue = new ArrayQueue<>(4, shrink);
+            ArrayDeque<Integer> expected = new ArrayDeque<>();
+            Random random = new Random(7);
+
+            for (int i = 0; i < 50_000; i++) {
+                int operation = random.nextInt(10);
+                if (operation < 5) {
+                    queue.enqueue(i);
+                    expected.add(i);
+                } else if (operation < 9) {
+                    assertEquals(expected.poll(), queue.dequeue());
+                } else if (random.nextBoolean()) {
+                    Integer[] batch = {i, i + 1, i + 2};
+                    queue.enqueueAll(batch);
+                    expected.addAll(List.of(batch));
+                } else {
+                    List<Integer> drained = new ArrayList<>();
+                    List<Integer> expectedDrained = new ArrayList<>();
+                    int max = random.nextInt(20);
+                    assertEquals(Math.min(max, expected.size()), queue.drainTo(drained, max));
+                    for (int j = 0; j < max && !expected.isEmpty(); j++) {
+                        expectedDrained.add(expected.poll());
+                    }
+                    assertEquals(expectedDrained, drained);
+                }
+                assertEquals(expected.size(), queue.size());
+                assertEquals(expected.peek(), queue.front());
+            }
+        }
+    }
+
+    @Test
+    void bulkOperationsKeepFifoOrder() {
+        ArrayQueue<Integer> queue = new ArrayQueue<>(2, true);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+        }
+
+        queue.enqueue(-1);
+        queue.enqueueAll(values);
+        assertEquals(-1, queue.dequeue());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1_000, queue.drainTo(drained));
+        assertEquals(values, drained);
+        assertTrue(queue.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new ArrayQueue<>(-1, false));
+    }
+}
@@ -0,0 +1,113 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryHeapTest {
+
+    @Test
+    void extractsInPriorityOrder() {
+        BinaryHeap<String> heap = new BinaryHeap<>(0);
+
+        assertTrue(heap.isEmpty());
+        assertNull(heap.min());
+        assertNull(heap.extractMin());
+        assertThrows(NoSuchElementException.class, heap::minPriority);
+
+        assertTrue(heap.insert("C", 30));
+        assertTrue(heap.insert("A", 10));
+        assertTrue(heap.insert("B", 20));
+        assertFalse(heap.insert("A", 5));
+
+        assertEquals(3, heap.size());
+        assertEquals("A", heap.min());
+        assertEquals(10, heap.minPriority());
+        assertEquals("A", heap.extractMin());
+        assertEquals("B", heap.extractMin());
+        assertEquals("C", heap.extractMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void decreaseKeyAndRemoveFindElementsThroughIndexMap() {
+        BinaryHeap<String> heap = new BinaryHeap<>();
+        heap.insert("A", 10);
+        heap.insert("B", 20);
+        heap.insert("C", 30);
+
+        heap.decreaseKey("C", 5);
+        assertEquals(5, heap.priorityOf("C"));
+        assertEquals("C", heap.min());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey("B", 25));
+        assertThrows(NoSuchElementException.class, () -> heap.decreaseKey("X", 1));
+
+        assertTrue(heap.remove("A"));
+        assertFalse(heap.remove("A"));
+        assertFalse(heap.contains("A"));
+        assertTrue(heap.contains("B"));
+        assertEquals("C", heap.extractMin());
+        assertEquals("B", heap.extractMin());
+    }
+
+    @Test
+    void matchesReferenceUnderRandomOperations() {
+        BinaryHeap<Integer> heap = new BinaryHeap<>(1);
+        Map<Integer, Long> priorities = new HashMap<>();
+        // (priority, element) pairs in priority order; element breaks ties
+        TreeSet<long[]> expected = new TreeSet<>((x, y) -> x[0] != y[0] ? Long.compare(x[0], y[0]) : Long.compare(x[1], y[1]));
+        Random random = new Random(17);
+
+        for (int i = 0; i < 50_000; i++) {
+            // small element range so elements come and go, which exercises the index map
+            int element = random.nextInt(2_000);
+            int operation = random.nextInt(5);
+            Long current = priorities.get(element);
+            if (operation < 2) {
+                long priority = random.nextInt(1_000_000);
+                assertEquals(current == null, heap.insert(element, priority));
+                if (current == null) {
+                    priorities.put(element, priority);
+                    expected.add(new long[]{priority, element});
+                }
+            } else if (operation == 2 && current != null) {
+                long priority = current - random.nextInt(1_000);
+                heap.decreaseKey(element, priority);
+                expected.remove(new long[]{current, element});
+                expected.add(new long[]{priority, element});
+                priorities.put(element, priority);
+            } else if (operation == 3) {
+                assertEquals(current != null, heap.remove(element));
+                if (current != null) {
+                    expected.remove(new long[]{current, element});
+                    priorities.remove(element);
+                }
+            } else if (!expected.isEmpty()) {
+                assertEquals(expected.first()[0], heap.minPriority());
+                long[] first = expected.pollFirst();
+                Integer min = heap.extractMin();
+                // equal priorities may come out in any order
+                assertEquals(first[0], (long) priorities.remove(min));
+                if (min != first[1]) {
+                    expected.remove(new long[]{first[0], min});
+                    expected.add(first);
+                }
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        long previous = Long.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            long priority = heap.minPriority();
+            assertTrue(priority >= previous);
+            assertEquals(priority, (long) priorities.remove(heap.extractMin()));
+            previous = priority;
+        }
+        assertTrue(priorities.isEmpty());
+    }
+}
@@ -0,0 +1,166 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * End-to-end producer-to-consumer throughput and round-trip latency of
+ * {@link BoundedBlockingQueue} compared to {@link ArrayBlockingQueue}. Consumers block in
+ * {@code take} or drain batches with {@code drainTo} instead of polling. Run the
+ * {@code main} method directly.
+ */
+public class BlockingQueueBenchmark {
+    private static final int MESSAGES = 2_000_000;
+    private static final int ROUND_TRIPS = 100_000;
+    private static final int CAPACITY = 1024;
+    private static final int BATCH = 64;
+
+    /** The operations both queues offer, so producer and consumer loops are written once. */
+    private interface Blocking {
+        void put(Integer value) throws InterruptedException;
+
+        Integer take() throws InterruptedException;
+
+        int drainTo(Collection<Integer> target, int max);
+    }
+
+    public static void main(String[] args) {
+        Integer[] items = new Integer[1024];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+
+        Benchmark.section("throughput, 1 producer -> 1 consumer, capacity " + CAPACITY);
+        Benchmark.measure("BoundedBlockingQueue take", MESSAGES, () -> transfer(items, ours(), false));
+        Benchmark.measure("ArrayBlockingQueue take", MESSAGES, () -> transfer(items, jdk(), false));
+        Benchmark.measure("BoundedBlockingQueue drainTo " + BATCH, MESSAGES, () -> transfer(items, ours(), true));
+        Benchmark.measure("ArrayBlockingQueue drainTo " + BATCH, MESSAGES, () -> transfer(items, jdk(), true));
+
+        Benchmark.section("round trip (ping-pong over two queues, blocking take)");
+        Benchmark.measure("BoundedBlockingQueue", ROUND_TRIPS, () -> pingPong(ours(), ours()));
+        Benchmark.measure("ArrayBlockingQueue", ROUND_TRIPS, () -> pingPong(jdk(), jdk()));
+    }
+
+    private static Blocking ours() {
+        BoundedBlockingQueue<Integer> queue = new BoundedBlockingQueue<>(CAPACITY);
+        return new Blocking() {
+            public void put(Integer value) throws InterruptedException {
+                queue.put(value);
+            }
+
+            public Integer take() throws InterruptedException {
+                return queue.take();
+            }
+
+            public int drainTo(Collection<Integer> target, int max) {
+                return queue.drainTo(target, max);
+            }
+        };
+    }
+
+    private static Blocking jdk() {
+        ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<>(CAPACITY);
+        return new Blocking() {
+            public void put(Integer value) throws InterruptedException {
+                queue.put(value);
+            }
+
+            public Integer take() throws InterruptedException {
+                return queue.take();
+            }
+
+            public int drainTo(Collection<Integer> target, int max) {
+                return queue.drainTo(target, max);
+            }
+        };
+    }
+
+    /**
+     * Sends {@code MESSAGES} values from a producer thread to the calling thread. With
+     * {@code batched}, the consumer blocks in {@code take} only for the first element of a
+     * batch and drains the rest.
+     *
+     * @return sum of the received values
+     */
+    private static long transfer(Integer[] items, Blocking queue, boolean batched) {
+        Thread producer = start(() -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                queue.put(items[i & 1023]);
+            }
+        });
+        long sum = 0;
+        List<Integer> batch = new ArrayList<>(BATCH);
+        try {
+            for (int received = 0; received < MESSAGES; ) {
+                if (batched) {
+                    batch.clear();
+                    batch.add(queue.take());
+                    queue.drainTo(batch, Math.min(BATCH, MESSAGES - received) - 1);
+                    for (Integer value : batch) {
+                        sum += value;
+                    }
+                    received += batch.size();
+                } else {
+                    sum += queue.take();
+                    received++;
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        join(producer);
+        return sum;
+    }
+
+    /**
+     * The calling thread sends a value over {@code ping}; the echo thread sends it back over
+     * {@code pong}. Only one message is in flight, so every element wakes a sleeping thread.
+     */
+    private static long pingPong(Blocking ping, Blocking pong) {
+        Thread echo = start(() -> {
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                pong.put(ping.take());
+            }
+        });
+        long sum = 0;
+        try {
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                ping.put(i & 1023);
+                sum += pong.take();
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        join(echo);
+        return sum;
+    }
+
+    private interface Body {
+        void run() throws InterruptedException;
+    }
+
+    private static Thread start(Body body) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedBlockingQueueTest {
+    private static final int PRODUCERS = 3;
+    private static final int CONSUMERS = 3;
+    private static final int PER_PRODUCER = 20_000;
+
+    @Test
+    void worksLikeBoundedQueueInOneThread() throws InterruptedException {
+        BoundedBlockingQueue<String> queue = new BoundedBlockingQueue<>(2);
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertTrue(queue.offer("A"));
+        queue.put("B");
+        assertFalse(queue.offer("C"));
+        assertFalse(queue.offer("C", 1, TimeUnit.MILLISECONDS));
+        assertEquals(2, queue.size());
+
+        assertEquals("A", queue.take());
+        assertEquals("B", queue.poll(1, TimeUnit.MILLISECONDS));
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedBlockingQueue<>(0));
+    }
+
+    @Test
+    void drainToTakesAtMostMaxElementsInOrder() {
+        BoundedBlockingQueue<Integer> queue = new BoundedBlockingQueue<>(4);
+        List<Integer> target = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            // the ring wraps around after the first round
+            for (int i = 0; i < 3; i++) {
+                assertTrue(queue.offer(round * 10 + i));
+            }
+            assertEquals(2, queue.drainTo(target, 2));
+            assertEquals(1, queue.drainTo(target, 10));
+            assertEquals(0, queue.drainTo(target, 10));
+        }
+        assertEquals(List.of(0, 1, 2, 10, 11, 12, 20, 21, 22), target);
+    }
+
+    @Test
+    void blockedPutAndTakeAreWokenUp() throws InterruptedException {
+        BoundedBlockingQueue<Integer> queue = new BoundedBlockingQueue<>(1);
+        queue.put(1);
+        AtomicInteger taken = new AtomicInteger();
+
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertEquals(1, queue.take());
+        producer.join(5_000);
+        assertFalse(producer.isAlive());
+
+        assertEquals(2, queue.take());
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        queue.put(3);
+        consumer.join(5_000);
+        assertEquals(3, taken.get());
+    }
+
+    @Test
+    void timedPollGivesUpAndInterruptStopsWaiting() throws InterruptedException {
+        BoundedBlockingQueue<Integer> queue = new BoundedBlockingQueue<>(1);
+        long start = System.nanoTime();
+        assertNull(queue.poll(20, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+
+        AtomicInteger interrupted = new AtomicInteger();
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        consumer.start();
+        consumer.interrupt();
+        consumer.join(5_000);
+        assertEquals(1, interrupted.get());
+    }
+
+    @Test
+    void deliversEveryElementOnceWithMixedConsumers() throws InterruptedException {
+        BoundedBlockingQueue<Integer> queue = new BoundedBlockingQueue<>(16);
+        int total = PRODUCERS * PER_PRODUCER;
+        AtomicInteger[] received = new AtomicInteger[total];
+        for (int i = 0; i < total; i++) {
+            received[i] = new AtomicInteger();
+        }
+        AtomicInteger remaining = new AtomicInteger(total);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        queue.put(producer * PER_PRODUCER + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (int c = 0; c < CONSUMERS; c++) {
+            int consumer = c;
+            threads.add(new Thread(() -> {
+                List<Integer> batch = new ArrayList<>();
+                try {
+                    while (remaining.get() > 0) {
+                        // one consumer each for take, timed poll and drainTo
+                        if (consumer == 0) {
+                            Integer value = queue.poll(1, TimeUnit.MILLISECONDS);
+                            if (value != null) {
+                                batch.add(value);
+                            }
+                        } else if (consumer == 1) {
+                            batch.add(queue.take());
+                        } else if (queue.drainTo(batch, 8) == 0) {
+                            Thread.yield();
+                        }
+                        for (Integer value : batch) {
+                            received[value].incrementAndGet();
+                            remaining.decrementAndGet();
+                        }
+                        batch.clear();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads.subList(0, PRODUCERS)) {
+            thread.join();
+        }
+        while (remaining.get() > 0) {
+            Thread.sleep(1);
+        }
+        // the consumer that uses take() may be blocked on the now empty queue
+        threads.get(PRODUCERS + 1).interrupt();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+            assertFalse(thread.isAlive());
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, received[i].get(), "value " + i);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedStackTest {
+
+    @Test
+    void behavesLikeLinkedStack() {
+        ChunkedStack<String> stack = new ChunkedStack<>();
+
+        assertTrue(stack.isEmpty());
+        assertNull(stack.top());
+        assertNull(stack.pop());
+
+        stack.push("A");
+        stack.push("B");
+        stack.push(null);
+
+        assertEquals(3, stack.size());
+        assertNull(stack.top());
+        assertNull(stack.pop());
+        assertEquals("B", stack.pop());
+        assertEquals("A", stack.top());
+        assertEquals("A", stack.pop());
+        assertTrue(stack.isEmpty());
+        assertNull(stack.pop());
+    }
+
+    @Test
+    void matchesArrayDequeAcrossChunkBoundaries() {
+        ChunkedStack<Integer> stack = new ChunkedStack<>();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 200_000; i++) {
+            // alternate push-heavy and pop-heavy phases so the stack grows over many chunks
+            // and shrinks again
+            boolean growing = (i / 20_000) % 2 == 0;
+            if (random.nextInt(10) < (growing ? 7 : 3)) {
+                stack.push(i);
+                expected.push(i);
+            } else {
+                assertEquals(expected.poll(), stack.pop());
+            }
+            assertEquals(expected.peek(), stack.top());
+            assertEquals(expected.size(), stack.size());
+        }
+        while (!expected.isEmpty()) {
+            assertEquals(expected.pop(), stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    void alternatingAtChunkBoundaryKeepsOrder() {
+        ChunkedStack<Integer> stack = new ChunkedStack<>();
+        for (int i = 0; i < 16; i++) {
+            stack.push(i);
+        }
+        for (int i = 0; i < 100; i++) {
+            stack.push(-i);
+            assertEquals(-i, stack.pop());
+            assertEquals(15, stack.top());
+        }
+        for (int i = 15; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertNull(stack.pop());
+    }
+}
@@ -0,0 +1,123 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Hand-off throughput of {@link ConcurrentQueue} and {@link BoundedConcurrentQueue} compared
+ * to the linked {@link Queue} behind one lock and {@link ConcurrentLinkedQueue}, with 1..N
+ * producer and as many consumer threads. Run the {@code main} method directly.
+ * <p>
+ * Threads that find the queue full or empty yield instead of spinning, so the numbers stay
+ * meaningful when there are more threads than cores.
+ * </p>
+ */
+public class ConcurrentQueueBenchmark {
+    private static final int MESSAGES = 2_000_000;
+    private static final int BOUNDED_CAPACITY = 1 << 12;
+
+    public static void main(String[] args) throws InterruptedException {
+        Integer[] items = new Integer[1024];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+
+        int maxThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            int producers = threads;
+            Benchmark.section(producers + " producer(s), " + producers + " consumer(s), " + MESSAGES + " messages");
+
+            Queue<Integer> locked = new Queue<>();
+            Benchmark.measure("Queue + synchronized", MESSAGES, () -> run(producers, items, value -> {
+                synchronized (locked) {
+                    locked.enqueue(value);
+                }
+                return true;
+            }, () -> {
+                synchronized (locked) {
+                    return locked.dequeue();
+                }
+            }));
+
+            ConcurrentQueue<Integer> michaelScott = new ConcurrentQueue<>();
+            Benchmark.measure("ConcurrentQueue (Michael-Scott)", MESSAGES, () -> run(producers, items, value -> {
+                michaelScott.enqueue(value);
+                return true;
+            }, michaelScott::dequeue));
+
+            BoundedConcurrentQueue<Integer> bounded = new BoundedConcurrentQueue<>(BOUNDED_CAPACITY);
+            Benchmark.measure("BoundedConcurrentQueue (" + BOUNDED_CAPACITY + ")", MESSAGES,
+                    () -> run(producers, items, bounded::enqueue, bounded::dequeue));
+
+            ConcurrentLinkedQueue<Integer> jdk = new ConcurrentLinkedQueue<>();
+            Benchmark.measure("ConcurrentLinkedQueue", MESSAGES, () -> run(producers, items, jdk::offer, jdk::poll));
+        }
+    }
+
+    /**
+     * Starts {@code threads} producers and as many consumers and waits until all messages
+     * have been received.
+     *
+     * @return sum of the received values
+     */
+    private static long run(int threads, Integer[] items, Predicate<Integer> enqueue, Supplier<Integer> dequeue) {
+        int perProducer = MESSAGES / threads;
+        int total = perProducer * threads;
+        AtomicLong received = new AtomicLong();
+        AtomicLong sum = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[2 * threads];
+
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                awaitQuietly(start);
+                for (int j = 0; j < perProducer; j++) {
+                    while (!enqueue.test(items[j & 1023])) {
+                        Thread.yield();
+                    }
+                }
+            });
+            workers[threads + i] = new Thread(() -> {
+                awaitQuietly(start);
+                long localSum = 0;
+                while (received.get() < total) {
+                    Integer value = dequeue.get();
+                    if (value == null) {
+                        Thread.yield();
+                    } else {
+                        localSum += value;
+                        received.incrementAndGet();
+                    }
+                }
+                sum.addAndGet(localSum);
+            });
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return sum.get();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentQueueTest {
+    /** One producer and one consumer per core, at least two of each so they still contend. */
+    private static final int PRODUCERS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int CONSUMERS = PRODUCERS;
+    private static final int PER_PRODUCER = 20_000;
+
+    @Test
+    void worksLikeQueueInOneThread() {
+        ConcurrentQueue<String> queue = new ConcurrentQueue<>();
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+        queue.enqueue("A");
+        queue.enqueue("B");
+
+        assertEquals("A", queue.front());
+        assertEquals("A", queue.dequeue());
+        assertEquals("B", queue.dequeue());
+        assertNull(queue.front());
+        assertTrue(queue.isEmpty());
+        assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+    }
+
+    @Test
+    void frontNeverSeesAClearedElement() throws InterruptedException {
+        ConcurrentQueue<Integer> queue = new ConcurrentQueue<>();
+        queue.enqueue(0);
+        // the queue always holds at least one element: every dequeue follows an enqueue
+        Thread rotator = new Thread(() -> {
+            for (int i = 1; i <= 200_000; i++) {
+                queue.enqueue(i);
+                queue.dequeue();
+            }
+        });
+        rotator.start();
+        int nulls = 0;
+        while (rotator.isAlive()) {
+            if (queue.front() == null) {
+                nulls++;
+            }
+        }
+        rotator.join();
+        assertEquals(0, nulls);
+    }
+
+    @Test
+    void boundedQueueRejectsElementsWhenFull() {
+        BoundedConcurrentQueue<Integer> queue = new BoundedConcurrentQueue<>(3);
+
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.enqueue(i));
+        }
+        assertFalse(queue.enqueue(4));
+        assertEquals(0, queue.dequeue());
+        assertTrue(queue.enqueue(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, queue.dequeue());
+        }
+        assertNull(queue.dequeue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void deliversEveryElementOnceInProducerOrder() throws InterruptedException {
+        ConcurrentQueue<Integer> queue = new ConcurrentQueue<>();
+        assertDeliveredOnce(value -> {
+            queue.enqueue(value);
+            return true;
+        }, queue::dequeue);
+    }
+
+    @Test
+    void boundedQueueDeliversEveryElementOnceInProducerOrder() throws InterruptedException {
+        BoundedConcurrentQueue<Integer> queue = new BoundedConcurrentQueue<>(64);
+        assertDeliveredOnce(queue::enqueue, queue::dequeue);
+    }
+
+    /**
+     * Every producer sends {@code producer * PER_PRODUCER + sequence}; every consumer checks
+     * that the sequences of each producer arrive in increasing order. Threads that find the
+     * queue full or empty yield, so the test stays fast when there are fewer cores than threads.
+     */
+    private static void assertDeliveredOnce(Predicate<Integer> enqueue, Supplier<Integer> dequeue)
+            throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        boolean[] seen = new boolean[PRODUCERS * PER_PRODUCER];
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < PER_PRODUCER; i++) {
+                    while (!enqueue.test(producer * PER_PRODUCER + i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < CONSUMERS; c++) {
+            threads.add(new Thread(() -> {
+                int[] last = new int[PRODUCERS];
+                Arrays.fill(last, -1);
+                while (received.get() < seen.length) {
+                    Integer value = dequeue.get();
+                    if (value == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    int producer = value / PER_PRODUCER;
+                    int sequence = value % PER_PRODUCER;
+                    synchronized (seen) {
+                        if (seen[value] || sequence <= last[producer]) {
+                            failures.add(new AssertionError("out of order or duplicate: " + value));
+                        }
+                        seen[value] = true;
+                    }
+                    last[producer] = sequence;
+                    received.incrementAndGet();
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), failures);
+        for (boolean value : seen) {
+            assertTrue(value);
+        }
+    }
+}
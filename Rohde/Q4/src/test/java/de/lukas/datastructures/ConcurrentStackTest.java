@@ -0,0 +1,77 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentStackTest {
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 50_000;
+
+    @Test
+    void worksLikeStackInOneThread() {
+        ConcurrentStack<String> stack = new ConcurrentStack<>();
+
+        assertTrue(stack.isEmpty());
+        assertNull(stack.pop());
+        stack.push("A");
+        stack.push("B");
+
+        assertEquals("B", stack.top());
+        assertEquals("B", stack.pop());
+        assertEquals("A", stack.pop());
+        assertNull(stack.top());
+        assertTrue(stack.isEmpty());
+        assertThrows(NullPointerException.class, () -> stack.push(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentStack<>(-1));
+    }
+
+    @Test
+    void deliversEveryElementOnceWithAndWithoutElimination() throws InterruptedException {
+        for (int slots : new int[]{0, 1, 4}) {
+            assertDeliveredOnce(new ConcurrentStack<>(slots));
+        }
+    }
+
+    /**
+     * Every thread pushes its own values and pops about as many in between, so pushes and
+     * pops collide constantly. Afterwards every value must have been popped exactly once.
+     */
+    private static void assertDeliveredOnce(ConcurrentStack<Integer> stack) throws InterruptedException {
+        AtomicInteger[] popped = new AtomicInteger[THREADS * PER_THREAD];
+        for (int i = 0; i < popped.length; i++) {
+            popped[i] = new AtomicInteger();
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    stack.push(thread * PER_THREAD + i);
+                    Integer value = stack.pop();
+                    if (value != null) {
+                        popped[value].incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Integer value;
+        while ((value = stack.pop()) != null) {
+            popped[value].incrementAndGet();
+        }
+        for (int i = 0; i < popped.length; i++) {
+            assertEquals(1, popped[i].get(), "value " + i);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntQueueTest {
+
+    @Test
+    void behavesLikeQueue() {
+        IntQueue queue = new IntQueue();
+
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+        assertThrows(NoSuchElementException.class, queue::front);
+
+        queue.enqueue(1);
+        queue.enqueue(2);
+        queue.enqueue(3);
+
+        assertEquals(1, queue.front());
+        assertEquals(1, queue.dequeue());
+        assertEquals(2, queue.dequeue());
+        assertEquals(3, queue.dequeue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void bulkOperationsWrapAroundTheRing() {
+        IntQueue queue = new IntQueue(4);
+        queue.enqueueAll(new int[]{1, 2, 3}, 0, 3);
+        assertEquals(1, queue.dequeue());
+        assertEquals(2, queue.dequeue());
+        // head is at index 2 now: this batch wraps, the next one grows the ring
+        queue.enqueueAll(new int[]{4, 5, 6}, 0, 3);
+        queue.enqueueAll(new int[]{0, 7, 8, 0}, 1, 2);
+
+        int[] target = new int[8];
+        assertEquals(6, queue.drainTo(target, 1, 7));
+        assertArrayEquals(new int[]{0, 3, 4, 5, 6, 7, 8, 0}, target);
+        assertEquals(0, queue.drainTo(target, 0, 8));
+    }
+
+    @Test
+    void longQueueMatchesArrayDequeUnderRandomOperations() {
+        LongQueue queue = new LongQueue(2);
+        ArrayDeque<Long> expected = new ArrayDeque<>();
+        Random random = new Random(9);
+        long[] batch = new long[5];
+
+        for (int i = 0; i < 50_000; i++) {
+            long value = (long) i << 33;
+            int operation = random.nextInt(6);
+            if (operation < 3) {
+                queue.enqueue(value);
+                expected.add(value);
+            } else if (operation == 3) {
+                long[] values = {value, value + 1, value + 2};
+                queue.enqueueAll(values, 0, values.length);
+                for (long v : values) {
+                    expected.add(v);
+                }
+            } else if (operation == 4 && !expected.isEmpty()) {
+                assertEquals(expected.peek(), queue.front());
+                assertEquals(expected.poll(), queue.dequeue());
+            } else {
+                int count = queue.drainTo(batch, 0, batch.length);
+                for (int j = 0; j < count; j++) {
+                    assertEquals(expected.poll(), batch[j]);
+                }
+            }
+            assertEquals(expected.size(), queue.size());
+        }
+    }
+}
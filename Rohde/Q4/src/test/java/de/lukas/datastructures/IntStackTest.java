@@ -0,0 +1,77 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntStackTest {
+
+    @Test
+    void behavesLikeStack() {
+        IntStack stack = new IntStack(0);
+
+        assertTrue(stack.isEmpty());
+        assertThrows(NoSuchElementException.class, stack::pop);
+        assertThrows(NoSuchElementException.class, stack::top);
+
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+
+        assertEquals(3, stack.top());
+        assertEquals(3, stack.pop());
+        assertEquals(2, stack.pop());
+        assertEquals(1, stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    void bulkPushAndPopKeepLifoOrder() {
+        IntStack stack = new IntStack(2);
+        stack.push(-1);
+        stack.pushAll(new int[]{9, 1, 2, 3, 9}, 1, 3);
+
+        assertEquals(4, stack.size());
+        int[] target = new int[6];
+        assertEquals(2, stack.popAll(target, 1, 2));
+        assertArrayEquals(new int[]{0, 3, 2, 0, 0, 0}, target);
+        assertEquals(2, stack.popAll(target, 0, 6));
+        assertArrayEquals(new int[]{1, -1, 2, 0, 0, 0}, target);
+        assertEquals(0, stack.popAll(target, 0, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> stack.pushAll(new int[2], 1, 2));
+    }
+
+    @Test
+    void matchesArrayDequeUnderRandomOperations() {
+        IntStack stack = new IntStack();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(3);
+        int[] batch = new int[8];
+
+        for (int i = 0; i < 50_000; i++) {
+            int operation = random.nextInt(6);
+            if (operation < 3) {
+                stack.push(i);
+                expected.push(i);
+            } else if (operation == 3) {
+                int[] values = {i, i + 1, i + 2};
+                stack.pushAll(values, 0, values.length);
+                for (int value : values) {
+                    expected.push(value);
+                }
+            } else if (operation == 4 && !expected.isEmpty()) {
+                assertEquals(expected.pop(), stack.pop());
+            } else {
+                int count = stack.popAll(batch, 0, batch.length);
+                for (int j = 0; j < count; j++) {
+                    assertEquals(expected.pop(), batch[j]);
+                }
+            }
+            assertEquals(expected.size(), stack.size());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PairingHeapTest {
+
+    @Test
+    void extractsInPriorityOrderAndDecreasesKeys() {
+        PairingHeap<String> heap = new PairingHeap<>();
+
+        assertTrue(heap.isEmpty());
+        assertNull(heap.extractMin());
+        assertThrows(NoSuchElementException.class, heap::minPriority);
+
+        heap.insert("C", 30);
+        PairingHeap.Handle<String> b = heap.insert("B", 20);
+        heap.insert("A", 10);
+        PairingHeap.Handle<String> d = heap.insert("D", 40);
+
+        heap.decreaseKey(d, 15);
+        assertEquals(15, d.priority());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(b, 25));
+
+        assertEquals("A", heap.min());
+        assertEquals("A", heap.extractMin());
+        assertEquals("D", heap.extractMin());
+        heap.decreaseKey(b, 1);
+        assertEquals("B", heap.extractMin());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(b, 0));
+        assertEquals("C", heap.extractMin());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void mergeKeepsHandlesValid() {
+        PairingHeap<Integer> left = new PairingHeap<>();
+        PairingHeap<Integer> right = new PairingHeap<>();
+        left.insert(1, 10);
+        left.insert(3, 30);
+        PairingHeap.Handle<Integer> handle = right.insert(2, 20);
+        right.insert(4, 40);
+
+        left.merge(right);
+        assertTrue(right.isEmpty());
+        assertEquals(4, left.size());
+        left.decreaseKey(handle, 5);
+        for (int expected : new int[]{2, 1, 3, 4}) {
+            assertEquals(expected, left.extractMin());
+        }
+        assertThrows(IllegalArgumentException.class, () -> left.merge(left));
+    }
+
+    @Test
+    void rejectsHandlesOfOtherHeaps() {
+        PairingHeap<Integer> first = new PairingHeap<>();
+        PairingHeap<Integer> second = new PairingHeap<>();
+        first.insert(1, 10);
+        PairingHeap.Handle<Integer> firstChild = first.insert(3, 30);
+        PairingHeap.Handle<Integer> secondRoot = second.insert(2, 20);
+        PairingHeap.Handle<Integer> secondChild = second.insert(4, 40);
+
+        assertThrows(IllegalArgumentException.class, () -> first.decreaseKey(secondRoot, 5));
+        assertThrows(IllegalArgumentException.class, () -> first.decreaseKey(secondChild, 5));
+        assertThrows(IllegalArgumentException.class, () -> second.decreaseKey(firstChild, 5));
+        assertEquals(20, secondRoot.priority());
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+
+        // after a merge the handles belong to the target, new ones to the emptied heap
+        PairingHeap<Integer> third = new PairingHeap<>();
+        second.merge(third);
+        first.merge(second);
+        PairingHeap.Handle<Integer> later = second.insert(5, 50);
+        assertThrows(IllegalArgumentException.class, () -> second.decreaseKey(secondChild, 5));
+        assertThrows(IllegalArgumentException.class, () -> first.decreaseKey(later, 5));
+        first.decreaseKey(secondChild, 5);
+        for (int expected : new int[]{4, 1, 2, 3}) {
+            assertEquals(expected, first.extractMin());
+        }
+        assertEquals(5, second.extractMin());
+    }
+
+    @Test
+    void matchesPriorityQueueUnderRandomOperations() {
+        PairingHeap<Integer> heap = new PairingHeap<>();
+        // reference entries are {priority, element}; decreased entries are replaced
+        PriorityQueue<long[]> expected = new PriorityQueue<>((x, y) -> Long.compare(x[0], y[0]));
+        List<PairingHeap.Handle<Integer>> handles = new ArrayList<>();
+        List<long[]> entries = new ArrayList<>();
+        Random random = new Random(23);
+
+        for (int i = 0; i < 50_000; i++) {
+            int operation = random.nextInt(6);
+            if (operation < 2 || expected.isEmpty()) {
+                long priority = random.nextInt(1_000_000);
+                handles.add(heap.insert(i, priority));
+                long[] entry = {priority, i};
+                entries.add(entry);
+                expected.add(entry);
+            } else if (operation == 2) {
+                PairingHeap<Integer> other = new PairingHeap<>();
+                for (int j = 0; j < 5; j++) {
+                    long priority = random.nextInt(1_000_000);
+                    int element = -handles.size();
+                    handles.add(other.insert(element, priority));
+                    long[] entry = {priority, element};
+                    entries.add(entry);
+                    expected.add(entry);
+                }
+                heap.merge(other);
+            } else if (operation == 3) {
+                int index = random.nextInt(handles.size());
+                long[] entry = entries.get(index);
+                if (expected.remove(entry)) {
+                    long priority = entry[0] - random.nextInt(1_000);
+                    heap.decreaseKey(handles.get(index), priority);
+                    long[] decreased = {priority, entry[1]};
+                    entries.set(index, decreased);
+                    expected.add(decreased);
+                }
+            } else {
+                long[] first = expected.poll();
+                assertEquals(first[0], heap.minPriority());
+                heap.extractMin();
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll()[0], heap.minPriority());
+            heap.extractMin();
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,147 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.ArrayDeque;
+import java.util.function.LongSupplier;
+
+/**
+ * Pushes job IDs through the generic {@link Stack}, {@link Queue} and {@link ArrayQueue} and
+ * through their primitive counterparts {@link IntStack}, {@link IntQueue} and
+ * {@link LongQueue}, and reports both time and allocated bytes per operation. The IDs are
+ * larger than the {@link Integer} cache, as real job IDs would be, so every boxing
+ * allocates. Run the {@code main} method directly.
+ */
+public class PrimitiveCollectionsBenchmark {
+    private static final int OPERATIONS = 5_000_000;
+    private static final int BACKLOG = 1_000;
+    private static final int BATCH = 64;
+    private static final int FIRST_ID = 1_000_000;
+
+    public static void main(String[] args) {
+        // pushing and immediately popping lets the JIT remove the boxing altogether, so the
+        // stack always holds a batch of IDs before it is popped
+        Benchmark.section("stack: push " + BATCH + " IDs, then pop them, one by one");
+        both("Stack<Integer>", () -> {
+            Stack<Integer> stack = new Stack<>();
+            long sum = 0;
+            for (int round = 0; round < OPERATIONS / BATCH; round++) {
+                for (int i = 0; i < BATCH; i++) {
+                    stack.push(FIRST_ID + round + i);
+                }
+                for (int i = 0; i < BATCH; i++) {
+                    sum += stack.pop();
+                }
+            }
+            return sum;
+        });
+        both("IntStack", () -> {
+            IntStack stack = new IntStack();
+            long sum = 0;
+            for (int round = 0; round < OPERATIONS / BATCH; round++) {
+                for (int i = 0; i < BATCH; i++) {
+                    stack.push(FIRST_ID + round + i);
+                }
+                for (int i = 0; i < BATCH; i++) {
+                    sum += stack.pop();
+                }
+            }
+            return sum;
+        });
+
+        Benchmark.section("queue: enqueue + dequeue with " + BACKLOG + " queued IDs");
+        both("Queue<Integer>", () -> {
+            Queue<Integer> queue = new Queue<>();
+            for (int i = 0; i < BACKLOG; i++) {
+                queue.enqueue(FIRST_ID + i);
+            }
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                queue.enqueue(FIRST_ID + i);
+                sum += queue.dequeue();
+            }
+            return sum;
+        });
+        both("ArrayQueue<Integer>", () -> {
+            ArrayQueue<Integer> queue = new ArrayQueue<>();
+            for (int i = 0; i < BACKLOG; i++) {
+                queue.enqueue(FIRST_ID + i);
+            }
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                queue.enqueue(FIRST_ID + i);
+                sum += queue.dequeue();
+            }
+            return sum;
+        });
+        both("IntQueue", () -> {
+            IntQueue queue = new IntQueue();
+            for (int i = 0; i < BACKLOG; i++) {
+                queue.enqueue(FIRST_ID + i);
+            }
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                queue.enqueue(FIRST_ID + i);
+                sum += queue.dequeue();
+            }
+            return sum;
+        });
+        both("ArrayDeque<Long>", () -> {
+            ArrayDeque<Long> queue = new ArrayDeque<>();
+            for (int i = 0; i < BACKLOG; i++) {
+                queue.add((long) FIRST_ID + i);
+            }
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                queue.add((long) FIRST_ID + i);
+                sum += queue.poll();
+            }
+            return sum;
+        });
+        both("LongQueue", () -> {
+            LongQueue queue = new LongQueue();
+            for (int i = 0; i < BACKLOG; i++) {
+                queue.enqueue((long) FIRST_ID + i);
+            }
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                queue.enqueue((long) FIRST_ID + i);
+                sum += queue.dequeue();
+            }
+            return sum;
+        });
+
+        Benchmark.section("batches of " + BATCH + ": bulk push/pop and enqueue/drain");
+        int[] batch = new int[BATCH];
+        int[] target = new int[BATCH];
+        both("IntStack pushAll/popAll", () -> {
+            IntStack stack = new IntStack();
+            long sum = 0;
+            for (int round = 0; round < OPERATIONS / BATCH; round++) {
+                for (int i = 0; i < BATCH; i++) {
+                    batch[i] = FIRST_ID + round + i;
+                }
+                stack.pushAll(batch, 0, BATCH);
+                sum += stack.popAll(target, 0, BATCH) + target[0];
+            }
+            return sum;
+        });
+        both("IntQueue enqueueAll/drainTo", () -> {
+            IntQueue queue = new IntQueue();
+            long sum = 0;
+            for (int round = 0; round < OPERATIONS / BATCH; round++) {
+                for (int i = 0; i < BATCH; i++) {
+                    batch[i] = FIRST_ID + round + i;
+                }
+                queue.enqueueAll(batch, 0, BATCH);
+                sum += queue.drainTo(target, 0, BATCH) + target[0];
+            }
+            return sum;
+        });
+    }
+
+    private static void both(String label, LongSupplier body) {
+        Benchmark.measure(label, OPERATIONS, body);
+        Benchmark.allocations(label, OPERATIONS, body);
+    }
+}
@@ -0,0 +1,182 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Compares {@link BinaryHeap} and {@link PairingHeap} with {@link PriorityQueue} for three
+ * scheduler-like workloads: insert then drain, a Dijkstra-like mix with decrease-key, and
+ * merging many small queues. {@link PriorityQueue} has no decrease-key, so it inserts a
+ * second entry and skips stale ones when they come out (the usual workaround). Run the
+ * {@code main} method directly.
+ */
+public class PriorityQueueBenchmark {
+    private static final int ELEMENTS = 1_000_000;
+    private static final int DECREASES_PER_ELEMENT = 3;
+    private static final int MERGED_QUEUES = 10_000;
+    private static final int PER_MERGED_QUEUE = 100;
+
+    /** Entry of the {@link PriorityQueue} variants, compared by its {@code long} priority. */
+    private record Job(int id, long priority) {
+    }
+
+    public static void main(String[] args) {
+        int[] priorities = Benchmark.randomInts(ELEMENTS, 1);
+        Integer[] ids = new Integer[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            ids[i] = i;
+        }
+
+        Benchmark.section("insert " + ELEMENTS + ", then extract all");
+        Benchmark.measure("BinaryHeap", ELEMENTS, () -> {
+            BinaryHeap<Integer> heap = new BinaryHeap<>();
+            for (int i = 0; i < ELEMENTS; i++) {
+                heap.insert(ids[i], priorities[i]);
+            }
+            long sum = 0;
+            while (!heap.isEmpty()) {
+                sum += heap.extractMin();
+            }
+            return sum;
+        });
+        Benchmark.measure("PairingHeap", ELEMENTS, () -> {
+            PairingHeap<Integer> heap = new PairingHeap<>();
+            for (int i = 0; i < ELEMENTS; i++) {
+                heap.insert(ids[i], priorities[i]);
+            }
+            long sum = 0;
+            while (!heap.isEmpty()) {
+                sum += heap.extractMin();
+            }
+            return sum;
+        });
+        Benchmark.measure("PriorityQueue<Job>", ELEMENTS, () -> {
+            PriorityQueue<Job> queue = new PriorityQueue<>((a, b) -> Long.compare(a.priority, b.priority));
+            for (int i = 0; i < ELEMENTS; i++) {
+                queue.add(new Job(i, priorities[i]));
+            }
+            long sum = 0;
+            while (!queue.isEmpty()) {
+                sum += queue.poll().id;
+            }
+            return sum;
+        });
+
+        Benchmark.section("insert " + ELEMENTS + ", " + DECREASES_PER_ELEMENT + " decrease-keys each, extract all");
+        int decreases = ELEMENTS * DECREASES_PER_ELEMENT;
+        int[] targets = Benchmark.randomInts(decreases, 2);
+        long operations = ELEMENTS * 2L + decreases;
+        Benchmark.measure("BinaryHeap (index map)", operations, () -> {
+            BinaryHeap<Integer> heap = new BinaryHeap<>();
+            for (int i = 0; i < ELEMENTS; i++) {
+                heap.insert(ids[i], priorities[i]);
+            }
+            for (int i = 0; i < decreases; i++) {
+                Integer id = ids[(targets[i] & Integer.MAX_VALUE) % ELEMENTS];
+                if (heap.contains(id)) {
+                    heap.decreaseKey(id, heap.priorityOf(id) - 1_000);
+                }
+            }
+            long sum = 0;
+            while (!heap.isEmpty()) {
+                sum += heap.extractMin();
+            }
+            return sum;
+        });
+        Benchmark.measure("PairingHeap (handles)", operations, () -> {
+            PairingHeap<Integer> heap = new PairingHeap<>();
+            List<PairingHeap.Handle<Integer>> handles = new ArrayList<>(ELEMENTS);
+            for (int i = 0; i < ELEMENTS; i++) {
+                handles.add(heap.insert(ids[i], priorities[i]));
+            }
+            for (int i = 0; i < decreases; i++) {
+                PairingHeap.Handle<Integer> handle = handles.get((targets[i] & Integer.MAX_VALUE) % ELEMENTS);
+                heap.decreaseKey(handle, handle.priority() - 1_000);
+            }
+            long sum = 0;
+            while (!heap.isEmpty()) {
+                sum += heap.extractMin();
+            }
+            return sum;
+        });
+        Benchmark.measure("PriorityQueue<Job> (reinsert, skip stale)", operations, () -> {
+            PriorityQueue<Job> queue = new PriorityQueue<>((a, b) -> Long.compare(a.priority, b.priority));
+            long[] current = new long[ELEMENTS];
+            for (int i = 0; i < ELEMENTS; i++) {
+                current[i] = priorities[i];
+                queue.add(new Job(i, priorities[i]));
+            }
+            for (int i = 0; i < decreases; i++) {
+                int id = (targets[i] & Integer.MAX_VALUE) % ELEMENTS;
+                current[id] -= 1_000;
+                queue.add(new Job(id, current[id]));
+            }
+            long sum = 0;
+            while (!queue.isEmpty()) {
+                Job job = queue.poll();
+                if (job.priority == current[job.id]) {
+                    sum += job.id;
+                    current[job.id] = Long.MAX_VALUE; // later duplicates with this priority are stale too
+                }
+            }
+            return sum;
+        });
+
+        int merged = MERGED_QUEUES * PER_MERGED_QUEUE;
+        Benchmark.section("build " + MERGED_QUEUES + " queues of " + PER_MERGED_QUEUE + ", merge into one, extract 1%");
+        Benchmark.measure("PairingHeap.merge", merged, () -> {
+            PairingHeap<Integer> all = new PairingHeap<>();
+            for (int q = 0; q < MERGED_QUEUES; q++) {
+                PairingHeap<Integer> heap = new PairingHeap<>();
+                for (int i = 0; i < PER_MERGED_QUEUE; i++) {
+                    int index = q * PER_MERGED_QUEUE + i;
+                    heap.insert(ids[index], priorities[index]);
+                }
+                all.merge(heap);
+            }
+            long sum = 0;
+            for (int i = 0; i < merged / 100; i++) {
+                sum += all.extractMin();
+            }
+            return sum;
+        });
+        Benchmark.measure("BinaryHeap, insert one by one", merged, () -> {
+            BinaryHeap<Integer> all = new BinaryHeap<>();
+            for (int q = 0; q < MERGED_QUEUES; q++) {
+                BinaryHeap<Integer> heap = new BinaryHeap<>();
+                for (int i = 0; i < PER_MERGED_QUEUE; i++) {
+                    int index = q * PER_MERGED_QUEUE + i;
+                    heap.insert(ids[index], priorities[index]);
+                }
+                while (!heap.isEmpty()) {
+                    long priority = heap.minPriority();
+                    all.insert(heap.extractMin(), priority);
+                }
+            }
+            long sum = 0;
+            for (int i = 0; i < merged / 100; i++) {
+                sum += all.extractMin();
+            }
+            return sum;
+        });
+        Benchmark.measure("PriorityQueue<Job>.addAll", merged, () -> {
+            PriorityQueue<Job> all = new PriorityQueue<>((a, b) -> Long.compare(a.priority, b.priority));
+            for (int q = 0; q < MERGED_QUEUES; q++) {
+                PriorityQueue<Job> queue = new PriorityQueue<>((a, b) -> Long.compare(a.priority, b.priority));
+                for (int i = 0; i < PER_MERGED_QUEUE; i++) {
+                    int index = q * PER_MERGED_QUEUE + i;
+                    queue.add(new Job(index, priorities[index]));
+                }
+                all.addAll(queue);
+            }
+            long sum = 0;
+            for (int i = 0; i < merged / 100; i++) {
+                sum += all.poll().id;
+            }
+            return sum;
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the linked {@link Queue} with the ring buffer {@link ArrayQueue} and
+ * {@link ArrayDeque}. Run the {@code main} method directly; this class is not part of the
+ * unit test suite.
+ */
+public class QueueBenchmark {
+    private static final int OPERATIONS = 10_000_000;
+    private static final int[] BACKLOGS = {16, 100_000};
+    private static final int BATCH = 64;
+
+    public static void main(String[] args) {
+        Integer[] items = new Integer[1024];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+
+        for (int backlog : BACKLOGS) {
+            Benchmark.section("steady state: enqueue + dequeue with " + backlog + " queued elements");
+            Benchmark.measure("Queue (linked)", OPERATIONS, () -> {
+                Queue<Integer> queue = new Queue<>();
+                for (int i = 0; i < backlog; i++) {
+                    queue.enqueue(items[i & 1023]);
+                }
+                long sum = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    queue.enqueue(items[i & 1023]);
+                    sum += queue.dequeue();
+                }
+                return sum;
+            });
+            Benchmark.measure("ArrayQueue", OPERATIONS, () -> {
+                ArrayQueue<Integer> queue = new ArrayQueue<>();
+                for (int i = 0; i < backlog; i++) {
+                    queue.enqueue(items[i & 1023]);
+                }
+                long sum = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    queue.enqueue(items[i & 1023]);
+                    sum += queue.dequeue();
+                }
+                return sum;
+            });
+            Benchmark.measure("ArrayDeque", OPERATIONS, () -> {
+                ArrayDeque<Integer> queue = new ArrayDeque<>();
+                for (int i = 0; i < backlog; i++) {
+                    queue.add(items[i & 1023]);
+                }
+                long sum = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    queue.add(items[i & 1023]);
+                    sum += queue.poll();
+                }
+                return sum;
+            });
+        }
+
+        Benchmark.section("batches of " + BATCH + ": enqueue all, then drain");
+        Integer[] batch = new Integer[BATCH];
+        System.arraycopy(items, 0, batch, 0, BATCH);
+        List<Integer> target = new ArrayList<>(BATCH);
+        Benchmark.measure("ArrayQueue enqueue/dequeue one by one", OPERATIONS, () -> {
+            ArrayQueue<Integer> queue = new ArrayQueue<>();
+            long sum = 0;
+            for (int round = 0; round < OPERATIONS / BATCH; round++) {
+                for (Integer item : batch) {
+                    queue.enqueue(item);
+                }
+                for (int i = 0; i < BATCH; i++) {
+                    sum += queue.dequeue();
+                }
+            }
+            return sum;
+        });
+        Benchmark.measure("ArrayQueue enqueueAll/drainTo", OPERATIONS, () -> {
+            ArrayQueue<Integer> queue = new ArrayQueue<>();
+            long sum = 0;
+            for (int round = 0; round < OPERATIONS / BATCH; round++) {
+                queue.enqueueAll(batch);
+                target.clear();
+                sum += queue.drainTo(target, BATCH);
+            }
+            return sum;
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Indexed iteration ({@code for (i = 0; i < size; i++) get(i)}) and indexed update over
+ * {@link SinglyLinkedList}, {@link ArrayList} and {@link LinkedList}. Without the cursor the
+ * singly linked list would be quadratic here, like {@link LinkedList}. Run the {@code main}
+ * method directly.
+ */
+public class SinglyLinkedListBenchmark {
+    private static final int[] SIZES = {1_000, 100_000};
+    private static final int LINKED_LIST_LIMIT = 10_000;
+    private static final int ELEMENTS_PER_SIZE = 10_000_000;
+
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            int passes = Math.max(1, ELEMENTS_PER_SIZE / size);
+            int operations = passes * size;
+            Benchmark.section(size + " elements, get(i) for every index");
+
+            SinglyLinkedList<Integer> singly = new SinglyLinkedList<>();
+            List<Integer> array = new ArrayList<>();
+            List<Integer> linked = new LinkedList<>();
+            for (int i = 0; i < size; i++) {
+                singly.add(i);
+                array.add(i);
+                linked.add(i);
+            }
+
+            Benchmark.measure("SinglyLinkedList", operations, () -> {
+                long sum = 0;
+                for (int pass = 0; pass < passes; pass++) {
+                    for (int i = 0; i < singly.size(); i++) {
+                        sum += singly.get(i);
+                    }
+                }
+                return sum;
+            });
+            Benchmark.measure("ArrayList", operations, () -> {
+                long sum = 0;
+                for (int pass = 0; pass < passes; pass++) {
+                    for (int i = 0; i < array.size(); i++) {
+                        sum += array.get(i);
+                    }
+                }
+                return sum;
+            });
+            if (size <= LINKED_LIST_LIMIT) {
+                // quadratic: only measured for the small list
+                int linkedPasses = Math.max(1, passes / 100);
+                Benchmark.measure("LinkedList", linkedPasses * size, () -> {
+                    long sum = 0;
+                    for (int pass = 0; pass < linkedPasses; pass++) {
+                        for (int i = 0; i < linked.size(); i++) {
+                            sum += linked.get(i);
+                        }
+                    }
+                    return sum;
+                });
+            }
+
+            Benchmark.section(size + " elements, set(i, get(i) + 1) for every index");
+            Benchmark.measure("SinglyLinkedList", operations, () -> {
+                for (int pass = 0; pass < passes; pass++) {
+                    for (int i = 0; i < singly.size(); i++) {
+                        singly.set(i, singly.get(i) + 1);
+                    }
+                }
+                return singly.get(0);
+            });
+            Benchmark.measure("ArrayList", operations, () -> {
+                for (int pass = 0; pass < passes; pass++) {
+                    for (int i = 0; i < array.size(); i++) {
+                        array.set(i, array.get(i) + 1);
+                    }
+                }
+                return array.get(0);
+            });
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SinglyLinkedListTest {
+
+    @Test
+    void supportsIndexedAccessAndSearch() {
+        SinglyLinkedList<String> list = new SinglyLinkedList<>();
+
+        assertTrue(list.isEmpty());
+        assertFalse(list.remove(0));
+        assertFalse(list.remove("A"));
+        assertEquals(-1, list.index("A"));
+
+        list.add("A");
+        list.add("C");
+        list.insert(1, "B");
+        list.insert(0, "Z");
+        list.insert(4, "D");
+
+        assertEquals(5, list.size());
+        assertEquals("Z", list.get(0));
+        assertEquals("D", list.get(4));
+        assertEquals(2, list.index("B"));
+
+        list.set(2, null);
+        assertEquals(2, list.index(null));
+        assertTrue(list.remove(null));
+        assertTrue(list.remove(0));
+        assertFalse(list.remove(3));
+        assertEquals("A", list.get(0));
+        assertEquals("C", list.get(1));
+        assertEquals("D", list.get(2));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(-1, "X"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insert(4, "X"));
+    }
+
+    @Test
+    void matchesArrayListUnderRandomOperations() {
+        SinglyLinkedList<Integer> list = new SinglyLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 50_000; i++) {
+            int size = expected.size();
+            int operation = random.nextInt(8);
+            // mostly indices near the previous one, so the cursor is used and moved around
+            int index = size == 0 ? 0 : Math.min(size - 1, Math.max(0, (i % size) + random.nextInt(5) - 2));
+            if (operation == 0 || size == 0) {
+                list.add(i);
+                expected.add(i);
+            } else if (operation == 1) {
+                list.insert(index, i);
+                expected.add(index, i);
+            } else if (operation == 2) {
+                assertTrue(list.remove(index));
+                expected.remove(index);
+            } else if (operation == 3) {
+                Integer value = expected.get(random.nextInt(size));
+                assertTrue(list.remove(value));
+                expected.remove(value);
+            } else if (operation == 4) {
+                list.set(index, -i);
+                expected.set(index, -i);
+            } else if (operation == 5) {
+                Integer value = expected.get(random.nextInt(size));
+                assertEquals(expected.indexOf(value), list.index(value));
+            } else {
+                assertEquals(expected.get(index), list.get(index));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        // tail must still be correct after all removals
+        list.add(-1);
+        assertEquals(-1, list.get(list.size() - 1));
+    }
+}
@@ -0,0 +1,146 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Throughput and round-trip latency of {@link SpscQueue} between two threads, compared to
+ * {@link BoundedConcurrentQueue} and {@link ArrayBlockingQueue} of the same capacity.
+ * Run the {@code main} method directly.
+ * <p>
+ * A thread that finds the queue full or empty yields, so the numbers stay meaningful on
+ * machines with fewer than two free cores.
+ * </p>
+ */
+public class SpscQueueBenchmark {
+    private static final int MESSAGES = 5_000_000;
+    private static final int ROUND_TRIPS = 200_000;
+    private static final int CAPACITY = 1 << 12;
+    private static final int BATCH = 64;
+
+    public static void main(String[] args) {
+        Integer[] items = new Integer[1024];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+
+        Benchmark.section("throughput, 1 producer -> 1 consumer, capacity " + CAPACITY);
+        SpscQueue<Integer> spsc = new SpscQueue<>(CAPACITY);
+        Benchmark.measure("SpscQueue", MESSAGES, () -> transfer(items, spsc::enqueue, spsc::dequeue));
+        Benchmark.measure("SpscQueue, batches of " + BATCH, MESSAGES, () -> transferBatches(items, spsc));
+        BoundedConcurrentQueue<Integer> mpmc = new BoundedConcurrentQueue<>(CAPACITY);
+        Benchmark.measure("BoundedConcurrentQueue", MESSAGES, () -> transfer(items, mpmc::enqueue, mpmc::dequeue));
+        ArrayBlockingQueue<Integer> blocking = new ArrayBlockingQueue<>(CAPACITY);
+        Benchmark.measure("ArrayBlockingQueue", MESSAGES, () -> transfer(items, blocking::offer, blocking::poll));
+
+        Benchmark.section("round trip (ping-pong over two queues), ns per round trip");
+        SpscQueue<Integer> spscPing = new SpscQueue<>(CAPACITY);
+        SpscQueue<Integer> spscPong = new SpscQueue<>(CAPACITY);
+        Benchmark.measure("SpscQueue", ROUND_TRIPS,
+                () -> pingPong(spscPing::enqueue, spscPing::dequeue, spscPong::enqueue, spscPong::dequeue));
+        BoundedConcurrentQueue<Integer> mpmcPing = new BoundedConcurrentQueue<>(CAPACITY);
+        BoundedConcurrentQueue<Integer> mpmcPong = new BoundedConcurrentQueue<>(CAPACITY);
+        Benchmark.measure("BoundedConcurrentQueue", ROUND_TRIPS,
+                () -> pingPong(mpmcPing::enqueue, mpmcPing::dequeue, mpmcPong::enqueue, mpmcPong::dequeue));
+        ArrayBlockingQueue<Integer> blockingPing = new ArrayBlockingQueue<>(CAPACITY);
+        ArrayBlockingQueue<Integer> blockingPong = new ArrayBlockingQueue<>(CAPACITY);
+        Benchmark.measure("ArrayBlockingQueue", ROUND_TRIPS,
+                () -> pingPong(blockingPing::offer, blockingPing::poll, blockingPong::offer, blockingPong::poll));
+    }
+
+    private static long transfer(Integer[] items, Predicate<Integer> enqueue, Supplier<Integer> dequeue) {
+        Thread producer = start(() -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                while (!enqueue.test(items[i & 1023])) {
+                    Thread.yield();
+                }
+            }
+        });
+        long sum = 0;
+        for (int received = 0; received < MESSAGES; ) {
+            Integer value = dequeue.get();
+            if (value == null) {
+                Thread.yield();
+            } else {
+                sum += value;
+                received++;
+            }
+        }
+        join(producer);
+        return sum;
+    }
+
+    private static long transferBatches(Integer[] items, SpscQueue<Integer> queue) {
+        Thread producer = start(() -> {
+            for (int sent = 0; sent < MESSAGES; ) {
+                int offered = queue.enqueueAll(items, sent & 1023 & ~(BATCH - 1), Math.min(BATCH, MESSAGES - sent));
+                if (offered == 0) {
+                    Thread.yield();
+                }
+                sent += offered;
+            }
+        });
+        Integer[] batch = new Integer[BATCH];
+        long sum = 0;
+        for (int received = 0; received < MESSAGES; ) {
+            int count = queue.drainTo(batch, 0, BATCH);
+            if (count == 0) {
+                Thread.yield();
+            }
+            for (int i = 0; i < count; i++) {
+                sum += batch[i];
+            }
+            received += count;
+        }
+        join(producer);
+        return sum;
+    }
+
+    /**
+     * The main thread sends a message over {@code ping}; the echo thread sends it back over
+     * {@code pong}. Only one message is in flight at a time.
+     */
+    private static long pingPong(Predicate<Integer> pingEnqueue, Supplier<Integer> pingDequeue,
+                                 Predicate<Integer> pongEnqueue, Supplier<Integer> pongDequeue) {
+        Thread echo = start(() -> {
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                Integer value;
+                while ((value = pingDequeue.get()) == null) {
+                    Thread.yield();
+                }
+                while (!pongEnqueue.test(value)) {
+                    Thread.yield();
+                }
+            }
+        });
+        long sum = 0;
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            pingEnqueue.test(i & 1023);
+            Integer value;
+            while ((value = pongDequeue.get()) == null) {
+                Thread.yield();
+            }
+            sum += value;
+        }
+        join(echo);
+        return sum;
+    }
+
+    private static Thread start(Runnable body) {
+        Thread thread = new Thread(body);
+        thread.start();
+        return thread;
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
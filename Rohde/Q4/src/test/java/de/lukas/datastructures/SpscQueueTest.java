@@ -0,0 +1,115 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscQueueTest {
+    private static final int MESSAGES = 200_000;
+
+    @Test
+    void enqueuesAndDequeuesInOrderUntilFull() {
+        SpscQueue<Integer> queue = new SpscQueue<>(3);
+
+        assertEquals(4, queue.capacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.enqueue(i));
+        }
+        assertFalse(queue.enqueue(4));
+        assertEquals(4, queue.size());
+
+        assertEquals(0, queue.front());
+        assertEquals(0, queue.dequeue());
+        assertTrue(queue.enqueue(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, queue.dequeue());
+        }
+        assertNull(queue.front());
+        assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+    }
+
+    @Test
+    void batchOperationsStopAtCapacity() {
+        SpscQueue<Integer> queue = new SpscQueue<>(8);
+        Integer[] values = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        assertEquals(8, queue.enqueueAll(values, 0, 10));
+        assertEquals(0, queue.enqueueAll(values, 8, 2));
+
+        Integer[] target = new Integer[5];
+        assertEquals(5, queue.drainTo(target, 0, 5));
+        assertArrayEquals(new Integer[]{0, 1, 2, 3, 4}, target);
+        assertEquals(2, queue.enqueueAll(values, 8, 2));
+        assertEquals(5, queue.drainTo(target, 0, 5));
+        assertArrayEquals(new Integer[]{5, 6, 7, 8, 9}, target);
+        assertEquals(0, queue.drainTo(target, 0, 5));
+    }
+
+    @Test
+    void batchWithNullInsertsNothing() {
+        SpscQueue<Integer> queue = new SpscQueue<>(8);
+        queue.enqueue(-1);
+        Integer[] values = {0, 1, null, 3};
+
+        assertThrows(NullPointerException.class, () -> queue.enqueueAll(values, 0, 4));
+        assertEquals(1, queue.size());
+        assertEquals(-1, queue.dequeue());
+        assertNull(queue.dequeue());
+
+        // with only two free slots the null is never reached
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(2, queue.enqueueAll(values, 0, 4));
+        assertEquals(8, queue.size());
+    }
+
+    @Test
+    void transfersBetweenTwoThreadsInOrder() throws InterruptedException {
+        SpscQueue<Integer> queue = new SpscQueue<>(64);
+        Thread producer = new Thread(() -> {
+            Integer[] batch = new Integer[7];
+            int next = 0;
+            while (next < MESSAGES) {
+                if (next % 3 == 0) {
+                    if (queue.enqueue(next)) {
+                        next++;
+                    }
+                } else {
+                    int length = Math.min(batch.length, MESSAGES - next);
+                    for (int i = 0; i < length; i++) {
+                        batch[i] = next + i;
+                    }
+                    next += queue.enqueueAll(batch, 0, length);
+                }
+                Thread.yield();
+            }
+        });
+        producer.start();
+
+        Integer[] batch = new Integer[5];
+        int expected = 0;
+        while (expected < MESSAGES) {
+            if (expected % 2 == 0) {
+                Integer value = queue.dequeue();
+                if (value == null) {
+                    Thread.yield();
+                } else {
+                    assertEquals(expected++, value);
+                }
+            } else {
+                int count = queue.drainTo(batch, 0, batch.length);
+                if (count == 0) {
+                    Thread.yield();
+                }
+                for (int i = 0; i < count; i++) {
+                    assertEquals(expected++, batch[i]);
+                }
+            }
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+}
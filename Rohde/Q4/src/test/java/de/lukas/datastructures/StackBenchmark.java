@@ -0,0 +1,170 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Compares the linked {@link Stack} with {@link ChunkedStack} and {@link ArrayDeque} in one
+ * thread, and {@link ConcurrentStack} with and without elimination against a locked
+ * {@link Stack} and {@link ConcurrentLinkedDeque} under contention. Run the {@code main}
+ * method directly.
+ */
+public class StackBenchmark {
+    private static final int OPERATIONS = 10_000_000;
+    private static final int DEPTH = 1_000_000;
+    private static final int CONCURRENT_OPERATIONS = 2_000_000;
+
+    public static void main(String[] args) {
+        Integer[] items = new Integer[1024];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+
+        Benchmark.section("push " + DEPTH + ", then pop all (repeated)");
+        int rounds = OPERATIONS / (2 * DEPTH);
+        Benchmark.measure("Stack (linked)", OPERATIONS, () -> {
+            Stack<Integer> stack = new Stack<>();
+            long sum = 0;
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < DEPTH; i++) {
+                    stack.push(items[i & 1023]);
+                }
+                for (int i = 0; i < DEPTH; i++) {
+                    sum += stack.pop();
+                }
+            }
+            return sum;
+        });
+        Benchmark.measure("ChunkedStack", OPERATIONS, () -> {
+            ChunkedStack<Integer> stack = new ChunkedStack<>();
+            long sum = 0;
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < DEPTH; i++) {
+                    stack.push(items[i & 1023]);
+                }
+                for (int i = 0; i < DEPTH; i++) {
+                    sum += stack.pop();
+                }
+            }
+            return sum;
+        });
+        Benchmark.measure("ArrayDeque", OPERATIONS, () -> {
+            ArrayDeque<Integer> stack = new ArrayDeque<>();
+            long sum = 0;
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < DEPTH; i++) {
+                    stack.push(items[i & 1023]);
+                }
+                for (int i = 0; i < DEPTH; i++) {
+                    sum += stack.pop();
+                }
+            }
+            return sum;
+        });
+
+        Benchmark.section("push + pop at a chunk boundary");
+        Benchmark.measure("Stack (linked)", OPERATIONS, () -> {
+            Stack<Integer> stack = new Stack<>();
+            for (int i = 0; i < 16; i++) {
+                stack.push(items[i]);
+            }
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                stack.push(items[i & 1023]);
+                sum += stack.pop();
+            }
+            return sum;
+        });
+        Benchmark.measure("ChunkedStack", OPERATIONS, () -> {
+            ChunkedStack<Integer> stack = new ChunkedStack<>();
+            for (int i = 0; i < 16; i++) {
+                stack.push(items[i]);
+            }
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                stack.push(items[i & 1023]);
+                sum += stack.pop();
+            }
+            return sum;
+        });
+
+        int maxThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        for (int threads = 2; threads <= maxThreads; threads *= 2) {
+            int workers = threads;
+            Benchmark.section(workers + " threads, each alternating push and pop");
+
+            Stack<Integer> locked = new Stack<>();
+            Benchmark.measure("Stack + synchronized", CONCURRENT_OPERATIONS, () -> run(workers, items, value -> {
+                synchronized (locked) {
+                    locked.push(value);
+                }
+            }, () -> {
+                synchronized (locked) {
+                    return locked.pop();
+                }
+            }));
+
+            ConcurrentStack<Integer> treiber = new ConcurrentStack<>(0);
+            Benchmark.measure("ConcurrentStack, no elimination", CONCURRENT_OPERATIONS,
+                    () -> run(workers, items, treiber::push, treiber::pop));
+
+            ConcurrentStack<Integer> eliminating = new ConcurrentStack<>();
+            Benchmark.measure("ConcurrentStack, elimination", CONCURRENT_OPERATIONS,
+                    () -> run(workers, items, eliminating::push, eliminating::pop));
+
+            ConcurrentLinkedDeque<Integer> jdk = new ConcurrentLinkedDeque<>();
+            Benchmark.measure("ConcurrentLinkedDeque", CONCURRENT_OPERATIONS,
+                    () -> run(workers, items, jdk::push, jdk::poll));
+        }
+    }
+
+    /**
+     * Starts {@code threads} workers that each push and pop {@code CONCURRENT_OPERATIONS / threads}
+     * times in alternation.
+     *
+     * @return sum of the popped values
+     */
+    private static long run(int threads, Integer[] items, Consumer<Integer> push,
+                            Supplier<Integer> pop) {
+        int perThread = CONCURRENT_OPERATIONS / threads;
+        AtomicLong sum = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long localSum = 0;
+                for (int i = 0; i < perThread; i++) {
+                    push.accept(items[i & 1023]);
+                    Integer value = pop.get();
+                    if (value != null) {
+                        localSum += value;
+                    }
+                }
+                sum.addAndGet(localSum);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return sum.get();
+    }
+}
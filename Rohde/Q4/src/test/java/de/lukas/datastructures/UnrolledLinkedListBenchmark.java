@@ -0,0 +1,113 @@
+package de.lukas.datastructures;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares {@link UnrolledLinkedList} with {@link SinglyLinkedList}, {@link ArrayList} and
+ * {@link LinkedList} for several list sizes and operation mixes. Every operation picks a
+ * random position, so the linked lists have to walk to it. Run the {@code main} method
+ * directly.
+ */
+public class UnrolledLinkedListBenchmark {
+    private static final int[] SIZES = {100, 10_000, 200_000};
+    private static final int OPERATIONS = 200_000;
+    private static final int SINGLY_LINKED_LIMIT = 10_000;
+
+    /** Operations in percent: insert, remove, get (the rest). */
+    private static final int[][] MIXES = {{50, 50, 0}, {10, 10, 80}, {0, 0, 100}};
+    private static final String[] MIX_NAMES = {"50% insert / 50% remove", "10/10/80 insert/remove/get", "100% get"};
+
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            for (int mix = 0; mix < MIXES.length; mix++) {
+                int[] operations = operations(MIXES[mix]);
+                int[] positions = new Random(size).ints(OPERATIONS, 0, Integer.MAX_VALUE).toArray();
+                Benchmark.section(size + " elements, " + MIX_NAMES[mix]);
+
+                Benchmark.measure("UnrolledLinkedList", OPERATIONS, () -> {
+                    UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+                    for (int i = 0; i < size; i++) {
+                        list.add(i);
+                    }
+                    long sum = 0;
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        int operation = operations[i];
+                        if (operation == 0) {
+                            list.insert(positions[i] % (list.size() + 1), i);
+                        } else if (operation == 1) {
+                            list.remove(positions[i] % list.size());
+                        } else {
+                            sum += list.get(positions[i] % list.size());
+                        }
+                    }
+                    return sum;
+                });
+                if (size <= SINGLY_LINKED_LIMIT) {
+                    Benchmark.measure("SinglyLinkedList", OPERATIONS, () -> {
+                        SinglyLinkedList<Integer> list = new SinglyLinkedList<>();
+                        for (int i = 0; i < size; i++) {
+                            list.add(i);
+                        }
+                        long sum = 0;
+                        for (int i = 0; i < OPERATIONS; i++) {
+                            int operation = operations[i];
+                            if (operation == 0) {
+                                list.insert(positions[i] % (list.size() + 1), i);
+                            } else if (operation == 1) {
+                                list.remove(positions[i] % list.size());
+                            } else {
+                                sum += list.get(positions[i] % list.size());
+                            }
+                        }
+                        return sum;
+                    });
+                    Benchmark.measure("LinkedList", OPERATIONS, () -> run(new LinkedList<>(), size, operations, positions));
+                }
+                Benchmark.measure("ArrayList", OPERATIONS, () -> run(new ArrayList<>(), size, operations, positions));
+            }
+        }
+    }
+
+    private static long run(List<Integer> list, int size, int[] operations, int[] positions) {
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        long sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            int operation = operations[i];
+            if (operation == 0) {
+                list.add(positions[i] % (list.size() + 1), i);
+            } else if (operation == 1) {
+                list.remove(positions[i] % list.size());
+            } else {
+                sum += list.get(positions[i] % list.size());
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Random sequence of operation codes (0 insert, 1 remove, 2 get) with the given shares.
+     * Inserts and removes alternate in equal numbers, so the list size stays around its start.
+     */
+    private static int[] operations(int[] percent) {
+        Random random = new Random(42);
+        int[] operations = new int[OPERATIONS];
+        boolean insertNext = true;
+        for (int i = 0; i < OPERATIONS; i++) {
+            int roll = random.nextInt(100);
+            if (roll < percent[0] + percent[1]) {
+                operations[i] = insertNext ? 0 : 1;
+                insertNext = !insertNext;
+            } else {
+                operations[i] = 2;
+            }
+        }
+        return operations;
+    }
+}
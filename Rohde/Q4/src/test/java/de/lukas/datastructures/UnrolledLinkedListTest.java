@@ -0,0 +1,86 @@
+package de.lukas.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnrolledLinkedListTest {
+
+    @Test
+    void supportsIndexedAccessAndSearch() {
+        UnrolledLinkedList<String> list = new UnrolledLinkedList<>(4);
+
+        assertTrue(list.isEmpty());
+        assertFalse(list.remove(0));
+        assertFalse(list.remove("A"));
+        assertEquals(-1, list.index("A"));
+
+        for (String value : new String[]{"A", "B", "C", "D", "E", "F"}) {
+            list.add(value);
+        }
+        list.insert(1, "X");
+        list.insert(0, null);
+
+        assertEquals(8, list.size());
+        assertEquals(null, list.get(0));
+        assertEquals("X", list.get(2));
+        assertEquals(7, list.index("F"));
+        assertEquals(0, list.index(null));
+
+        assertTrue(list.remove(null));
+        assertTrue(list.remove("X"));
+        list.set(5, "f");
+        assertFalse(list.remove(6));
+        assertEquals("A", list.get(0));
+        assertEquals("f", list.get(5));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(6));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insert(7, "X"));
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledLinkedList<>(3));
+    }
+
+    @Test
+    void matchesArrayListWhileNodesSplitAndMerge() {
+        for (int nodeCapacity : new int[]{4, 7, 64}) {
+            UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(nodeCapacity);
+            List<Integer> expected = new ArrayList<>();
+            Random random = new Random(nodeCapacity);
+
+            for (int i = 0; i < 50_000; i++) {
+                int size = expected.size();
+                // grow during the first half, shrink during the second
+                boolean growing = i < 25_000;
+                int operation = random.nextInt(8);
+                int index = size == 0 ? 0 : random.nextInt(size);
+                if (size == 0 || operation < (growing ? 3 : 1)) {
+                    int position = random.nextInt(size + 1);
+                    list.insert(position, i);
+                    expected.add(position, i);
+                } else if (operation < (growing ? 4 : 5)) {
+                    assertTrue(list.remove(index));
+                    expected.remove(index);
+                } else if (operation == 5) {
+                    Integer value = expected.get(index);
+                    assertTrue(list.remove(value));
+                    expected.remove(value);
+                } else if (operation == 6) {
+                    list.set(index, -i);
+                    expected.set(index, -i);
+                } else {
+                    assertEquals(expected.get(index), list.get(index));
+                }
+                assertEquals(expected.size(), list.size());
+            }
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), list.get(i));
+                assertEquals(expected.indexOf(expected.get(i)), list.index(expected.get(i)));
+            }
+            list.add(-1);
+            assertEquals(-1, list.get(list.size() - 1));
+        }
+    }
+}
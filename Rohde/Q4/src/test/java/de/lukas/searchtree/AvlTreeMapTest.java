@@ -0,0 +1,66 @@
+package de.lukas.searchtree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvlTreeMapTest {
+
+    @Test
+    void putsGetsAndReplacesValues() {
+        AvlTreeMap<String, Integer> map = new AvlTreeMap<>();
+
+        assertNull(map.put("b", 2));
+        assertNull(map.put("a", 1));
+        assertEquals(2, map.put("b", 20));
+
+        assertEquals(20, map.get("b"));
+        assertNull(map.get("c"));
+        assertTrue(map.containsKey("a"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void iteratesInComparatorOrder() {
+        AvlTreeMap<String, Integer> map = new AvlTreeMap<>(Comparator.reverseOrder());
+        map.put("a", 1);
+        map.put("c", 3);
+        map.put("b", 2);
+
+        List<String> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key + value));
+
+        assertEquals(List.of("c3", "b2", "a1"), keys);
+    }
+
+    @Test
+    void matchesTreeMapUnderRandomUpdates() {
+        AvlTreeMap<Integer, String> map = new AvlTreeMap<>();
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(19);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            }
+        }
+
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+        List<String> expectedEntries = new ArrayList<>();
+        expected.forEach((key, value) -> expectedEntries.add(key + "=" + value));
+
+        assertEquals(expectedEntries, entries);
+        assertEquals(expected.size(), map.size());
+        assertTrue(map.isBalanced());
+    }
+}
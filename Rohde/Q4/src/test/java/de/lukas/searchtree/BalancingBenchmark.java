@@ -0,0 +1,106 @@
+package de.lukas.searchtree;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Compares the {@link Balancing} strategies of {@link BinarySearchTree} for inserts, lookups
+ * and a mixed insert/remove/lookup load over sorted, uniformly random and Zipf-distributed
+ * keys. Run the {@code main} method directly; with {@code -Dde.lukas.searchtree.stats=true}
+ * the rotation counts per insert are printed as well.
+ */
+public class BalancingBenchmark {
+    private static final int SIZE = 1_000_000;
+
+    public static void main(String[] args) {
+        int[][] distributions = {
+                Benchmark.sortedInts(SIZE),
+                Benchmark.randomInts(SIZE, 31),
+                Benchmark.zipfInts(SIZE, SIZE / 4, 0.99, 32)
+        };
+        String[] names = {"sorted", "random", "zipf(0.99)"};
+
+        for (int d = 0; d < distributions.length; d++) {
+            int[] keys = distributions[d];
+            int[] lookups = shuffled(keys, 33);
+
+            Benchmark.section("insert, " + names[d] + ", n = " + SIZE);
+            for (Balancing balancing : Balancing.values()) {
+                Benchmark.measure(balancing.name(), SIZE, () -> fill(balancing, keys).size());
+            }
+
+            Benchmark.section("contains (hits), " + names[d] + ", n = " + SIZE);
+            for (Balancing balancing : Balancing.values()) {
+                BinarySearchTree tree = fill(balancing, keys);
+                Benchmark.measure(balancing.name() + " (height " + tree.height() + ")", SIZE, () -> {
+                    long found = 0;
+                    for (int value : lookups) {
+                        if (tree.contains(value)) {
+                            found++;
+                        }
+                    }
+                    return found;
+                });
+            }
+
+            Benchmark.section("mixed 50% insert / 25% remove / 25% contains, " + names[d]);
+            for (Balancing balancing : Balancing.values()) {
+                Benchmark.measure(balancing.name(), SIZE, () -> mixed(balancing, keys, lookups));
+            }
+
+            if (BinarySearchTree.statsEnabled()) {
+                Benchmark.section("rotations, " + names[d]);
+                for (Balancing balancing : Balancing.values()) {
+                    BinarySearchTree tree = new BinarySearchTree(balancing);
+                    mixedInto(tree, keys, lookups);
+                    TreeStats stats = tree.stats();
+                    System.out.printf("%-16s %6.3f single %6.3f double rotations/insert, "
+                                    + "%6.3f single %6.3f double rotations/removal%n", balancing,
+                            stats.singleRotationsPerInsert(), stats.doubleRotationsPerInsert(),
+                            stats.singleRotationsPerRemoval(), stats.doubleRotationsPerRemoval());
+                }
+            }
+        }
+    }
+
+    private static BinarySearchTree fill(Balancing balancing, int[] keys) {
+        BinarySearchTree tree = new BinarySearchTree(balancing);
+        for (int value : keys) {
+            tree.insert(value);
+        }
+        return tree;
+    }
+
+    private static long mixed(Balancing balancing, int[] keys, int[] others) {
+        return mixedInto(new BinarySearchTree(balancing), keys, others);
+    }
+
+    private static long mixedInto(BinarySearchTree tree, int[] keys, int[] others) {
+        long found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            switch (i & 3) {
+                case 0, 2 -> tree.insert(keys[i]);
+                case 1 -> tree.remove(others[i]);
+                default -> {
+                    if (tree.contains(others[i])) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found + tree.size();
+    }
+
+    private static int[] shuffled(int[] values, long seed) {
+        int[] copy = values.clone();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = copy[i];
+            copy[i] = copy[j];
+            copy[j] = swap;
+        }
+        return copy;
+    }
+}
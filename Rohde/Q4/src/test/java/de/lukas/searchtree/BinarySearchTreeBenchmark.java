@@ -0,0 +1,449 @@
+package de.lukas.searchtree;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Micro benchmarks for {@link BinarySearchTree}. Run the {@code main} method directly;
+ * this class is not part of the unit test suite.
+ * <p>
+ * Pass section names (e.g. {@code insert pooled}) as arguments to run only those sections.
+ * </p>
+ */
+public class BinarySearchTreeBenchmark {
+    private static final int[] SIZES = {100_000, 1_000_000};
+
+    public static void main(String[] args) {
+        Set<String> sections = Set.of(args);
+        for (int size : SIZES) {
+            if (sections.isEmpty() || sections.contains("insert")) {
+                benchmarkInsert(size);
+            }
+            if (sections.isEmpty() || sections.contains("pooled")) {
+                benchmarkPooled(size);
+            }
+            if (sections.isEmpty() || sections.contains("churn")) {
+                benchmarkChurn(size);
+            }
+            if (sections.isEmpty() || sections.contains("bulk")) {
+                benchmarkBulkLoad(size);
+            }
+            if (sections.isEmpty() || sections.contains("range")) {
+                benchmarkRangeCount(size);
+            }
+            if (sections.isEmpty() || sections.contains("iterate")) {
+                benchmarkIteration(size);
+            }
+            if (sections.isEmpty() || sections.contains("restart")) {
+                benchmarkRestart(size);
+            }
+            if (sections.isEmpty() || sections.contains("filter")) {
+                benchmarkFilter(size);
+            }
+            if (sections.contains("stats")) {
+                printStats(size);
+            }
+        }
+    }
+
+    private static void benchmarkInsert(int size) {
+        Benchmark.section("insert, n = " + size);
+        int[] random = Benchmark.randomInts(size, 1);
+        int[] sorted = Benchmark.sortedInts(size);
+
+        Benchmark.measure("recursive insert (contains + descend), random", size, () -> {
+            RecursiveInsertTree tree = new RecursiveInsertTree();
+            for (int value : random) {
+                tree.insert(value);
+            }
+            return tree.size;
+        });
+        Benchmark.measure("single-pass insert, random", size, () -> {
+            BinarySearchTree tree = new BinarySearchTree();
+            for (int value : random) {
+                tree.insert(value);
+            }
+            return tree.size();
+        });
+        Benchmark.measure("recursive insert (contains + descend), sorted", size, () -> {
+            RecursiveInsertTree tree = new RecursiveInsertTree();
+            for (int value : sorted) {
+                tree.insert(value);
+            }
+            return tree.size;
+        });
+        Benchmark.measure("single-pass insert, sorted", size, () -> {
+            BinarySearchTree tree = new BinarySearchTree();
+            for (int value : sorted) {
+                tree.insert(value);
+            }
+            return tree.size();
+        });
+    }
+
+    private static void benchmarkPooled(int size) {
+        Benchmark.section("node objects vs. array pool, n = " + size);
+        int[] random = Benchmark.randomInts(size, 2);
+        BinarySearchTree objects = new BinarySearchTree();
+        PooledBinarySearchTree pooled = new PooledBinarySearchTree(size);
+
+        Benchmark.measure("BinarySearchTree insert", size, () -> {
+            BinarySearchTree tree = new BinarySearchTree();
+            for (int value : random) {
+                tree.insert(value);
+            }
+            return tree.size();
+        });
+        Benchmark.measure("PooledBinarySearchTree insert", size, () -> {
+            PooledBinarySearchTree tree = new PooledBinarySearchTree(size);
+            for (int value : random) {
+                tree.insert(value);
+            }
+            return tree.size();
+        });
+
+        for (int value : random) {
+            objects.insert(value);
+            pooled.insert(value);
+        }
+        Benchmark.measure("BinarySearchTree contains", size, () -> {
+            long hits = 0;
+            for (int value : random) {
+                hits += objects.contains(value ^ 1) ? 1 : 0;
+            }
+            return hits;
+        });
+        Benchmark.measure("PooledBinarySearchTree contains", size, () -> {
+            long hits = 0;
+            for (int value : random) {
+                hits += pooled.contains(value ^ 1) ? 1 : 0;
+            }
+            return hits;
+        });
+    }
+
+    /**
+     * Keeps the set at a steady size: every operation removes the oldest value and inserts a new one.
+     * Each round also builds the initial set, so the numbers include one insert per value.
+     */
+    private static void benchmarkChurn(int size) {
+        Benchmark.section("churn (remove + insert at steady size), n = " + size);
+        int operations = size;
+        int[] keys = Benchmark.randomInts(size + operations, 3);
+
+        Benchmark.measure("BinarySearchTree remove + insert", operations, () -> {
+            BinarySearchTree tree = new BinarySearchTree();
+            for (int i = 0; i < size; i++) {
+                tree.insert(keys[i]);
+            }
+            for (int i = 0; i < operations; i++) {
+                tree.remove(keys[i]);
+                tree.insert(keys[i + size]);
+            }
+            return tree.size();
+        });
+        Benchmark.measure("PooledBinarySearchTree remove + insert", operations, () -> {
+            PooledBinarySearchTree tree = new PooledBinarySearchTree(size);
+            for (int i = 0; i < size; i++) {
+                tree.insert(keys[i]);
+            }
+            for (int i = 0; i < operations; i++) {
+                tree.remove(keys[i]);
+                tree.insert(keys[i + size]);
+            }
+            return tree.size();
+        });
+        Benchmark.measure("java.util.TreeSet remove + insert", operations, () -> {
+            TreeSet<Integer> tree = new TreeSet<>();
+            for (int i = 0; i < size; i++) {
+                tree.add(keys[i]);
+            }
+            for (int i = 0; i < operations; i++) {
+                tree.remove(keys[i]);
+                tree.add(keys[i + size]);
+            }
+            return tree.size();
+        });
+    }
+
+    private static void benchmarkBulkLoad(int size) {
+        Benchmark.section("cold start (build from array), n = " + size);
+        int[] random = Benchmark.randomInts(size, 4);
+        int[] sorted = Benchmark.sortedInts(size);
+
+        Benchmark.measure("new BinarySearchTree(values), random", size,
+                () -> new BinarySearchTree(random).size());
+        Benchmark.measure("BinarySearchTree.bulkLoad(values), random", size,
+                () -> BinarySearchTree.bulkLoad(random).size());
+        Benchmark.measure("new BinarySearchTree(values), sorted", size,
+                () -> new BinarySearchTree(sorted).size());
+        Benchmark.measure("BinarySearchTree.bulkLoad(values), sorted", size,
+                () -> BinarySearchTree.bulkLoad(sorted).size());
+    }
+
+    private static void benchmarkRangeCount(int size) {
+        Benchmark.section("range count, n = " + size);
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(Benchmark.randomInts(size, 5));
+        int[] bounds = Benchmark.randomInts(200, 6);
+
+        Benchmark.measure("countInRange", bounds.length / 2, () -> {
+            long total = 0;
+            for (int i = 0; i < bounds.length; i += 2) {
+                total += tree.countInRange(Math.min(bounds[i], bounds[i + 1]), Math.max(bounds[i], bounds[i + 1]));
+            }
+            return total;
+        });
+        Benchmark.measure("scan of inOrder()", bounds.length / 2, () -> {
+            long total = 0;
+            for (int i = 0; i < bounds.length; i += 2) {
+                int low = Math.min(bounds[i], bounds[i + 1]);
+                int high = Math.max(bounds[i], bounds[i + 1]);
+                for (int value : tree.inOrder()) {
+                    if (value >= low && value <= high) {
+                        total++;
+                    }
+                }
+            }
+            return total;
+        });
+    }
+
+    private static void benchmarkIteration(int size) {
+        Benchmark.section("full traversal (sum of all values), n = " + size);
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(Benchmark.randomInts(size, 7));
+        int values = tree.size();
+
+        Benchmark.measure("inOrder() list", values, () -> {
+            long sum = 0;
+            for (int value : tree.inOrder()) {
+                sum += value;
+            }
+            return sum;
+        });
+        Benchmark.measure("iterator()", values, () -> {
+            long sum = 0;
+            PrimitiveIterator.OfInt iterator = tree.iterator();
+            while (iterator.hasNext()) {
+                sum += iterator.nextInt();
+            }
+            return sum;
+        });
+        Benchmark.measure("stream()", values, () -> tree.stream().asLongStream().sum());
+        Benchmark.measure("stream().parallel() on " + Runtime.getRuntime().availableProcessors() + " cores",
+                values, () -> tree.stream().parallel().asLongStream().sum());
+    }
+
+    private static void benchmarkRestart(int size) {
+        Benchmark.section("restart (reload a saved tree), n = " + size);
+        int[] random = Benchmark.randomInts(size, 16);
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(random);
+        Path file;
+        try {
+            file = Files.createTempFile("tree", ".bin");
+            tree.writeTo(file);
+            System.out.printf("%-48s %10.2f bytes/value%n", "file size", (double) Files.size(file) / tree.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Benchmark.measure("re-insert every value", size, () -> {
+                BinarySearchTree reloaded = new BinarySearchTree();
+                for (int value : random) {
+                    reloaded.insert(value);
+                }
+                return reloaded.size();
+            });
+            Benchmark.measure("writeTo", size, () -> {
+                try {
+                    tree.writeTo(file);
+                    return tree.size();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            Benchmark.measure("mapFrom", size, () -> {
+                try {
+                    return BinarySearchTree.mapFrom(file).size();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Prints the tree statistics for random and sorted inserts. Run with
+     * {@code -Dde.lukas.searchtree.stats=true} to see the counters.
+     */
+    private static void benchmarkFilter(int size) {
+        Benchmark.section("contains with 90% misses, n = " + size);
+        int[] values = Benchmark.randomInts(size, 19);
+        int[] lookups = Benchmark.randomInts(size, 20);
+        for (int i = 0; i < lookups.length; i += 10) {
+            lookups[i] = values[i];
+        }
+
+        BinarySearchTree plain = BinarySearchTree.bulkLoad(values);
+        Benchmark.measure("without filter", size, () -> countHits(plain, lookups));
+        for (double rate : new double[]{0.01, 0.001}) {
+            BinarySearchTree filtered = BinarySearchTree.bulkLoad(values);
+            filtered.enableMembershipFilter(rate);
+            Benchmark.measure("Bloom filter, false-positive rate " + rate, size, () -> countHits(filtered, lookups));
+            FilterStats stats = filtered.filterStats();
+            if (BinarySearchTree.statsEnabled()) {
+                System.out.printf("  %d bits, %d hashes, observed false-positive rate %.4f%n",
+                        stats.bits(), stats.hashes(), stats.observedFalsePositiveRate());
+            } else {
+                System.out.printf("  %d bits, %d hashes (-Dde.lukas.searchtree.stats=true for the observed rate)%n",
+                        stats.bits(), stats.hashes());
+            }
+        }
+
+        Benchmark.measure("insert with filter, random", size, () -> {
+            BinarySearchTree tree = new BinarySearchTree();
+            tree.enableMembershipFilter(0.01);
+            for (int value : values) {
+                tree.insert(value);
+            }
+            return tree.size();
+        });
+    }
+
+    private static long countHits(BinarySearchTree tree, int[] lookups) {
+        long hits = 0;
+        for (int value : lookups) {
+            if (tree.contains(value)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static void printStats(int size) {
+        Benchmark.section("statistics, n = " + size + ", counters enabled: " + BinarySearchTree.statsEnabled());
+        for (int[] values : List.of(Benchmark.randomInts(size, 17), Benchmark.sortedInts(size))) {
+            BinarySearchTree tree = new BinarySearchTree();
+            for (int value : values) {
+                tree.insert(value);
+            }
+            for (int value : values) {
+                tree.contains(value);
+            }
+            TreeStats stats = tree.stats();
+            System.out.printf("single/insert %.3f, double/insert %.3f, comparisons/lookup %.2f, height %d%n",
+                    stats.singleRotationsPerInsert(), stats.doubleRotationsPerInsert(),
+                    stats.averageComparisonsPerLookup(), stats.depthHistogram().length);
+        }
+    }
+
+    /**
+     * The previous insert strategy of {@link BinarySearchTree}, kept here as a baseline:
+     * a {@code contains} lookup followed by a recursive insert that rebalances on the way back.
+     */
+    private static final class RecursiveInsertTree {
+        private Node root;
+        private int size;
+
+        void insert(int value) {
+            if (contains(value)) {
+                return;
+            }
+            root = insert(root, value);
+            size++;
+        }
+
+        boolean contains(int value) {
+            Node current = root;
+            while (current != null) {
+                if (value < current.value) {
+                    current = current.left;
+                } else if (value > current.value) {
+                    current = current.right;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Node insert(Node node, int value) {
+            if (node == null) {
+                return new Node(value);
+            }
+            if (value < node.value) {
+                node.left = insert(node.left, value);
+            } else if (value > node.value) {
+                node.right = insert(node.right, value);
+            } else {
+                return node;
+            }
+            updateHeight(node);
+            return rebalance(node);
+        }
+
+        private Node rebalance(Node node) {
+            int balance = height(node.left) - height(node.right);
+            if (balance > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if (balance < -1) {
+                if (height(node.right.left) > height(node.right.right)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private Node rotateLeft(Node node) {
+            Node newRoot = node.right;
+            node.right = newRoot.left;
+            newRoot.left = node;
+            updateHeight(node);
+            updateHeight(newRoot);
+            return newRoot;
+        }
+
+        private Node rotateRight(Node node) {
+            Node newRoot = node.left;
+            node.left = newRoot.right;
+            newRoot.right = node;
+            updateHeight(node);
+            updateHeight(newRoot);
+            return newRoot;
+        }
+
+        private static void updateHeight(Node node) {
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+        }
+
+        private static int height(Node node) {
+            return node == null ? 0 : node.height;
+        }
+
+        private static final class Node {
+            private final int value;
+            private int height = 1;
+            private Node left;
+            private Node right;
+
+            private Node(int value) {
+                this.value = value;
+            }
+        }
+    }
+}
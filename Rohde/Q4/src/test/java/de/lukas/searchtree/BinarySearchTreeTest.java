@@ -2,7 +2,19 @@ package de.lukas.searchtree;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +37,33 @@ class BinarySearchTreeTest {
         assertEquals(List.of(5, 10, 15), tree.inOrder());
     }
 
+    @Test
+    void insertReportsWhetherValueWasAdded() {
+        BinarySearchTree tree = new BinarySearchTree();
+
+        assertTrue(tree.insert(10));
+        assertTrue(tree.insert(5));
+        assertFalse(tree.insert(10));
+        assertFalse(tree.insert(5));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    void staysBalancedWithManyRandomInsertions() {
+        BinarySearchTree tree = new BinarySearchTree();
+        Random random = new Random(42);
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(2_000);
+            assertEquals(expected.add(value), tree.insert(value));
+        }
+
+        assertTrue(tree.isBalanced());
+        assertEquals(expected.size(), tree.size());
+        assertEquals(List.copyOf(expected), tree.inOrder());
+    }
+
     @Test
     void staysBalancedEvenWithSortedInsertions() {
         BinarySearchTree tree = new BinarySearchTree();
@@ -39,6 +78,532 @@ class BinarySearchTreeTest {
         assertTrue(tree.height() <= 4, "AVL tree with 10 nodes should stay low");
     }
 
+    @Test
+    void removesLeavesInnerNodesAndRoot() {
+        BinarySearchTree tree = new BinarySearchTree(10, 5, 15, 3, 7, 12, 20);
+
+        assertTrue(tree.remove(3));   // leaf
+        assertTrue(tree.remove(15));  // two children
+        assertTrue(tree.remove(10));  // root
+        assertFalse(tree.remove(10));
+        assertFalse(tree.remove(99));
+
+        assertEquals(List.of(5, 7, 12, 20), tree.inOrder());
+        assertEquals(4, tree.size());
+        assertTrue(tree.isBalanced());
+    }
+
+    @Test
+    void staysBalancedUnderMixedInsertAndRemove() {
+        BinarySearchTree tree = new BinarySearchTree();
+        Random random = new Random(3);
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                assertEquals(expected.add(value), tree.insert(value));
+            }
+        }
+
+        assertTrue(tree.isBalanced());
+        assertEquals(expected.size(), tree.size());
+        assertEquals(List.copyOf(expected), tree.inOrder());
+    }
+
+    @Test
+    void everyBalancingStaysValidUnderMixedInsertAndRemove() {
+        for (Balancing balancing : Balancing.values()) {
+            BinarySearchTree tree = new BinarySearchTree(balancing);
+            Random random = new Random(5);
+            TreeSet<Integer> expected = new TreeSet<>();
+
+            for (int i = 0; i < 20_000; i++) {
+                int value = random.nextInt(2_000);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(value), tree.remove(value));
+                } else {
+                    assertEquals(expected.add(value), tree.insert(value));
+                }
+                if (i % 1_000 == 0) {
+                    assertTrue(tree.isBalanced(), balancing.toString());
+                }
+            }
+
+            assertEquals(balancing, tree.balancing());
+            assertTrue(tree.isBalanced(), balancing.toString());
+            assertEquals(List.copyOf(expected), tree.inOrder());
+            int[] histogram = tree.stats().depthHistogram();
+            assertTrue(histogram[histogram.length - 1] > 0, "stored height is exact");
+            int index = 0;
+            for (int value : expected) {
+                assertEquals(value, tree.select(index));
+                assertEquals(index++, tree.rank(value));
+            }
+        }
+    }
+
+    @Test
+    void combinesTreesOfEveryBalancing() {
+        Random random = new Random(23);
+        int[] first = random.ints(20_000, 0, 40_000).toArray();
+        int[] second = random.ints(20_000, 20_000, 60_000).toArray();
+        TreeSet<Integer> union = new TreeSet<>();
+        Arrays.stream(first).forEach(union::add);
+        TreeSet<Integer> difference = new TreeSet<>(union);
+        Arrays.stream(second).forEach(value -> {
+            union.add(value);
+            difference.remove(value);
+        });
+
+        for (Balancing balancing : Balancing.values()) {
+            BinarySearchTree a = BinarySearchTree.bulkLoad(balancing, first);
+            BinarySearchTree b = new BinarySearchTree(balancing);
+            for (int value : second) {
+                b.insert(value);
+            }
+            assertTrue(a.isBalanced(), balancing.toString());
+
+            BinarySearchTree unionTree = a.union(b);
+            BinarySearchTree differenceTree = a.difference(b);
+            assertEquals(balancing, unionTree.balancing());
+            assertTrue(unionTree.isBalanced(), balancing.toString());
+            assertTrue(differenceTree.isBalanced(), balancing.toString());
+            assertEquals(List.copyOf(union), unionTree.inOrder());
+            assertEquals(List.copyOf(difference), differenceTree.inOrder());
+            assertEquals(List.copyOf(union), a.union(BinarySearchTree.bulkLoad(second)).inOrder());
+        }
+    }
+
+    @Test
+    void membershipFilterNeverHidesValues() {
+        BinarySearchTree tree = new BinarySearchTree();
+        tree.enableMembershipFilter(0.01);
+        Random random = new Random(29);
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(20_000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(value), tree.insert(value));
+                case 1 -> assertEquals(expected.remove(value), tree.remove(value));
+                default -> assertEquals(expected.contains(value), tree.contains(value));
+            }
+        }
+
+        assertTrue(tree.hasMembershipFilter());
+        if (BinarySearchTree.statsEnabled()) {
+            FilterStats stats = tree.filterStats();
+            assertTrue(stats.definiteMisses() > 0);
+            assertEquals(stats.lookups(), stats.definiteMisses() + stats.passedToTree());
+        }
+    }
+
+    @Test
+    void membershipFilterAnswersMissesAndIsRebuiltAfterBulkDeletes() {
+        int[] values = new int[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 2;
+        }
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(values);
+        tree.enableMembershipFilter(0.01);
+
+        for (int i = 0; i < 100_000; i++) {
+            assertFalse(tree.contains(2 * i + 1));
+        }
+        FilterStats stats = tree.filterStats();
+        if (BinarySearchTree.statsEnabled()) {
+            assertEquals(100_000, stats.lookups());
+            assertTrue(stats.observedFalsePositiveRate() < 0.03, stats.toString());
+            TreeStats treeStats = tree.stats();
+            assertEquals(100_000, treeStats.lookups(), "filtered misses are lookups too");
+            assertTrue(treeStats.averageComparisonsPerLookup() < 1, treeStats.toString());
+        } else {
+            assertEquals(0, stats.lookups(), "filter counters follow the statistics switch");
+        }
+
+        assertEquals(9_000, tree.removeAll(Arrays.copyOf(values, 9_000)));
+        for (int i = 0; i < 9_000; i++) {
+            assertFalse(tree.contains(values[i]));
+        }
+        if (BinarySearchTree.statsEnabled()) {
+            FilterStats afterRemoval = tree.filterStats();
+            long falsePositives = afterRemoval.falsePositives() - stats.falsePositives();
+            assertTrue(falsePositives < 9_000 * 0.03, "removed values are forgotten after the rebuild");
+        }
+
+        tree.disableMembershipFilter();
+        assertFalse(tree.hasMembershipFilter());
+        assertThrows(IllegalStateException.class, tree::filterStats);
+        assertThrows(IllegalArgumentException.class, () -> tree.enableMembershipFilter(1.0));
+    }
+
+    @Test
+    void removeAllCountsRemovedValues() {
+        BinarySearchTree tree = new BinarySearchTree(1, 2, 3, 4, 5, 6, 7, 8);
+
+        assertEquals(3, tree.removeAll(2, 4, 6, 42));
+        assertEquals(List.of(1, 3, 5, 7, 8), tree.inOrder());
+
+        assertEquals(5, tree.removeAll(1, 3, 5, 7, 8));
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.height());
+    }
+
+    @Test
+    void bulkLoadSortsAndDropsDuplicates() {
+        int[] values = {9, 3, 7, 3, 1, 9, 5};
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(values);
+
+        assertEquals(List.of(1, 3, 5, 7, 9), tree.inOrder());
+        assertEquals(5, tree.size());
+        assertTrue(tree.isBalanced());
+        assertArrayEquals(new int[]{9, 3, 7, 3, 1, 9, 5}, values, "input must not be modified");
+    }
+
+    @Test
+    void bulkLoadBuildsMinimalHeightTreeThatAcceptsUpdates() {
+        int[] values = new int[1_023];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 2;
+        }
+
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(values);
+        assertEquals(10, tree.height());
+        assertTrue(tree.isBalanced());
+
+        assertTrue(tree.insert(1));
+        assertTrue(tree.remove(0));
+        assertFalse(tree.insert(2));
+        assertTrue(tree.isBalanced());
+        assertEquals(1_023, tree.size());
+    }
+
+    @Test
+    void bulkLoadOfNothingIsEmpty() {
+        BinarySearchTree tree = BinarySearchTree.bulkLoad();
+
+        assertTrue(tree.isEmpty());
+        assertEquals("(empty)\n", tree.toTreeString());
+    }
+
+    @Test
+    void answersRankAndSelect() {
+        BinarySearchTree tree = new BinarySearchTree(50, 20, 80, 10, 30, 70, 90);
+
+        assertEquals(0, tree.rank(10));
+        assertEquals(0, tree.rank(-5));
+        assertEquals(3, tree.rank(50));
+        assertEquals(4, tree.rank(55));
+        assertEquals(7, tree.rank(1_000));
+
+        assertEquals(10, tree.select(0));
+        assertEquals(50, tree.select(3));
+        assertEquals(90, tree.select(6));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(-1));
+    }
+
+    @Test
+    void countsValuesInRange() {
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(10, 20, 30, 40, 50);
+
+        assertEquals(3, tree.countInRange(20, 40));
+        assertEquals(3, tree.countInRange(15, 45));
+        assertEquals(1, tree.countInRange(50, 50));
+        assertEquals(0, tree.countInRange(41, 49));
+        assertEquals(0, tree.countInRange(40, 20));
+        assertEquals(5, tree.countInRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void findsNeighbouringValues() {
+        BinarySearchTree tree = new BinarySearchTree(10, 20, 30);
+
+        assertEquals(OptionalInt.of(20), tree.floor(20));
+        assertEquals(OptionalInt.of(20), tree.floor(25));
+        assertEquals(OptionalInt.empty(), tree.floor(5));
+        assertEquals(OptionalInt.of(10), tree.lower(20));
+        assertEquals(OptionalInt.of(20), tree.ceiling(20));
+        assertEquals(OptionalInt.of(30), tree.ceiling(21));
+        assertEquals(OptionalInt.empty(), tree.ceiling(31));
+        assertEquals(OptionalInt.of(30), tree.higher(20));
+        assertEquals(OptionalInt.empty(), tree.higher(30));
+    }
+
+    @Test
+    void keepsSubtreeSizesThroughRotations() {
+        BinarySearchTree tree = new BinarySearchTree();
+        Random random = new Random(11);
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(1_000);
+            if (random.nextInt(4) == 0) {
+                tree.remove(value);
+                expected.remove(value);
+            } else {
+                tree.insert(value);
+                expected.add(value);
+            }
+        }
+
+        List<Integer> sorted = List.copyOf(expected);
+        for (int i = 0; i < sorted.size(); i++) {
+            int value = sorted.get(i);
+            assertEquals(value, tree.select(i));
+            assertEquals(i, tree.rank(value));
+        }
+        assertEquals(expected.subSet(100, true, 600, true).size(), tree.countInRange(100, 600));
+    }
+
+    @Test
+    void iteratesLazilyInSortedOrder() {
+        BinarySearchTree tree = new BinarySearchTree(40, 10, 30, 20, 50);
+
+        PrimitiveIterator.OfInt iterator = tree.iterator();
+        int[] values = new int[5];
+        for (int i = 0; i < values.length; i++) {
+            assertTrue(iterator.hasNext());
+            values[i] = iterator.nextInt();
+        }
+
+        assertArrayEquals(new int[]{10, 20, 30, 40, 50}, values);
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+        assertFalse(new BinarySearchTree().iterator().hasNext());
+    }
+
+    @Test
+    void iteratesOnlyValuesInRange() {
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(10, 20, 30, 40, 50, 60);
+
+        List<Integer> values = new ArrayList<>();
+        tree.iterator(25, 50).forEachRemaining((IntConsumer) values::add);
+        assertEquals(List.of(30, 40, 50), values);
+
+        assertFalse(tree.iterator(41, 49).hasNext());
+        assertFalse(tree.iterator(50, 20).hasNext());
+    }
+
+    @Test
+    void streamsValuesSequentiallyAndInParallel() {
+        int[] values = new int[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 3;
+        }
+        BinarySearchTree tree = BinarySearchTree.bulkLoad(values);
+
+        assertArrayEquals(values, tree.stream().toArray());
+        assertArrayEquals(values, tree.stream().parallel().toArray());
+        assertEquals(Arrays.stream(values).asLongStream().sum(), tree.stream().parallel().asLongStream().sum());
+        assertEquals(0, new BinarySearchTree().stream().parallel().count());
+    }
+
+    @Test
+    void frozenTreeAnswersTheSameQueries() {
+        BinarySearchTree tree = new BinarySearchTree();
+        Random random = new Random(13);
+        for (int i = 0; i < 1_000; i++) {
+            tree.insert(random.nextInt(5_000) * 2);
+        }
+
+        FrozenBinarySearchTree frozen = tree.freeze();
+
+        assertEquals(tree.size(), frozen.size());
+        assertEquals(tree.inOrder(), frozen.inOrder());
+        for (int value = -3; value < 10_003; value++) {
+            assertEquals(tree.contains(value), frozen.contains(value));
+            assertEquals(tree.ceiling(value), frozen.ceiling(value));
+        }
+        assertFalse(new BinarySearchTree().freeze().contains(0));
+    }
+
+    @Test
+    void combinesSmallTrees() {
+        BinarySearchTree a = new BinarySearchTree(1, 2, 3, 4, 5);
+        BinarySearchTree b = new BinarySearchTree(4, 5, 6, 7);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), a.union(b).inOrder());
+        assertEquals(List.of(4, 5), a.intersection(b).inOrder());
+        assertEquals(List.of(1, 2, 3), a.difference(b).inOrder());
+        assertEquals(List.of(6, 7), b.difference(a).inOrder());
+        assertTrue(a.intersection(new BinarySearchTree()).isEmpty());
+        assertEquals(List.of(1, 2, 3, 4, 5), a.union(new BinarySearchTree()).inOrder());
+
+        assertEquals(List.of(1, 2, 3, 4, 5), a.inOrder(), "inputs must stay unchanged");
+        assertEquals(List.of(4, 5, 6, 7), b.inOrder(), "inputs must stay unchanged");
+    }
+
+    @Test
+    void combinesLargeTreesInParallelLikeTreeSet() {
+        Random random = new Random(17);
+        int[] first = random.ints(60_000, 0, 100_000).toArray();
+        int[] second = random.ints(40_000, 50_000, 150_000).toArray();
+        BinarySearchTree a = BinarySearchTree.bulkLoad(first);
+        BinarySearchTree b = new BinarySearchTree(second);
+        TreeSet<Integer> expectedA = new TreeSet<>();
+        TreeSet<Integer> expectedB = new TreeSet<>();
+        Arrays.stream(first).forEach(expectedA::add);
+        Arrays.stream(second).forEach(expectedB::add);
+
+        TreeSet<Integer> union = new TreeSet<>(expectedA);
+        union.addAll(expectedB);
+        TreeSet<Integer> intersection = new TreeSet<>(expectedA);
+        intersection.retainAll(expectedB);
+        TreeSet<Integer> difference = new TreeSet<>(expectedA);
+        difference.removeAll(expectedB);
+
+        for (BinarySearchTree result : List.of(a.union(b), a.intersection(b), a.difference(b))) {
+            assertTrue(result.isBalanced());
+            assertEquals(result.size(), result.inOrder().size());
+        }
+        assertEquals(List.copyOf(union), a.union(b).inOrder());
+        assertEquals(List.copyOf(intersection), a.intersection(b).inOrder());
+        assertEquals(List.copyOf(difference), a.difference(b).inOrder());
+        assertEquals(difference.size(), a.difference(b).countInRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+
+        assertEquals(List.copyOf(expectedA), a.inOrder(), "inputs must stay unchanged");
+        assertEquals(List.copyOf(expectedB), b.inOrder(), "inputs must stay unchanged");
+        assertTrue(a.isBalanced() && b.isBalanced());
+        BinarySearchTree result = a.union(b);
+        for (int value : first) {
+            result.remove(value);
+        }
+        assertEquals(List.copyOf(expectedA), a.inOrder(), "result must not share nodes with its inputs");
+        assertEquals(List.copyOf(expectedB), b.inOrder(), "result must not share nodes with its inputs");
+    }
+
+    @Test
+    void writesAndReloadsTreeFile() throws IOException {
+        BinarySearchTree tree = new BinarySearchTree(Integer.MIN_VALUE, -1, 0, 1, 127, 128, 300_000, Integer.MAX_VALUE);
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            tree.writeTo(file);
+            BinarySearchTree loaded = BinarySearchTree.mapFrom(file);
+
+            assertEquals(tree.inOrder(), loaded.inOrder());
+            assertTrue(loaded.isBalanced());
+            assertTrue(loaded.insert(2));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void reloadsTreeFileWithEveryBalancing() throws IOException {
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            for (Balancing balancing : Balancing.values()) {
+                BinarySearchTree tree = new BinarySearchTree(balancing);
+                for (int value = 0; value < 1_000; value++) {
+                    tree.insert(value * 7 % 1_009);
+                }
+                tree.writeTo(file);
+                BinarySearchTree loaded = BinarySearchTree.mapFrom(file, balancing);
+
+                assertEquals(balancing, loaded.balancing());
+                assertEquals(tree.inOrder(), loaded.inOrder());
+                assertTrue(loaded.isBalanced(), balancing.toString());
+                for (int value = 0; value < 1_000; value += 3) {
+                    loaded.remove(value * 7 % 1_009);
+                }
+                assertTrue(loaded.isBalanced(), balancing + " after removals");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void storesDenseValuesInAboutOneBytePerValue() throws IOException {
+        BinarySearchTree tree = new BinarySearchTree();
+        for (int value = 0; value < 10_000; value++) {
+            tree.insert(value * 3);
+        }
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            tree.writeTo(file);
+
+            assertTrue(Files.size(file) < 10_000 + 16);
+            assertEquals(tree.inOrder(), BinarySearchTree.mapFrom(file).inOrder());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNoTreeFiles() throws IOException {
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3});
+            assertThrows(IOException.class, () -> BinarySearchTree.mapFrom(file));
+
+            new BinarySearchTree(1, 2, 3).writeTo(file);
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            assertThrows(IOException.class, () -> BinarySearchTree.mapFrom(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void reportsDepthHistogramAndCountersOnlyWhenEnabled() {
+        BinarySearchTree tree = new BinarySearchTree(1, 2, 3, 4, 5, 6, 7);
+        tree.contains(4);
+        tree.contains(42);
+
+        TreeStats stats = tree.stats();
+
+        assertArrayEquals(new int[]{1, 2, 4}, stats.depthHistogram());
+        assertEquals(10.0 / 7, stats.averageDepth(), 1e-9);
+        if (BinarySearchTree.statsEnabled()) {
+            assertEquals(7, stats.inserts());
+            assertEquals(4, stats.singleRotations());
+            assertEquals(2, stats.lookups());
+            assertEquals(4, stats.lookupComparisons());
+        } else {
+            assertEquals(0, stats.inserts());
+            assertEquals(0, stats.lookups());
+        }
+
+        tree.resetStats();
+        assertEquals(0, tree.stats().singleRotations());
+    }
+
+    @Test
+    void countsRotationsOfInsertsAndRemovalsSeparately() {
+        BinarySearchTree tree = new BinarySearchTree(1, 2, 3, 4, 5, 6, 7);
+        tree.resetStats();
+        // emptying the right subtree of the root makes the left one too deep: one rotation
+        tree.remove(5);
+        tree.remove(6);
+        tree.remove(7);
+
+        TreeStats stats = tree.stats();
+        if (BinarySearchTree.statsEnabled()) {
+            assertEquals(0, stats.inserts());
+            assertEquals(0, stats.insertSingleRotations() + stats.insertDoubleRotations());
+            assertEquals(3, stats.removals());
+            assertEquals(1, stats.removalSingleRotations());
+            assertEquals(stats.removalSingleRotations(), stats.singleRotations());
+            assertEquals(1.0 / 3, stats.singleRotationsPerRemoval(), 1e-9);
+            assertEquals(0, stats.singleRotationsPerInsert(), 1e-9);
+
+            tree.insert(8);
+            tree.insert(9);
+            stats = tree.stats();
+            assertEquals(1, stats.insertSingleRotations());
+            assertEquals(0.5, stats.singleRotationsPerInsert(), 1e-9);
+            assertEquals(1.0 / 3, stats.singleRotationsPerRemoval(), 1e-9);
+        } else {
+            assertEquals(0, stats.singleRotations() + stats.doubleRotations());
+        }
+    }
+
     @Test
     void createsTerminalTreeView() {
         BinarySearchTree tree = new BinarySearchTree(10, 5, 15, 3, 7);
@@ -53,4 +618,43 @@ class BinarySearchTreeTest {
 
         assertEquals(expected, tree.toTreeString());
     }
+
+    @Test
+    void streamsTreeViewWithDepthAndNodeLimits() throws IOException {
+        BinarySearchTree tree = new BinarySearchTree(10, 5, 15, -3, 7, Integer.MIN_VALUE);
+
+        StringBuilder full = new StringBuilder();
+        tree.printTree(full, Integer.MAX_VALUE);
+        assertEquals(tree.toTreeString(), full.toString());
+        StringWriter writer = new StringWriter();
+        tree.printTree(writer, Integer.MAX_VALUE);
+        assertEquals(full.toString(), writer.toString());
+        StringBuffer otherAppendable = new StringBuffer();
+        tree.printTree(otherAppendable, Integer.MAX_VALUE);
+        assertEquals(full.toString(), otherAppendable.toString());
+
+        StringBuilder shallow = new StringBuilder();
+        tree.printTree(shallow, 1);
+        assertEquals("""
+                5
+                |-- -3
+                |   \\-- ...
+                \\-- 10
+                    \\-- ...
+                """, shallow.toString());
+
+        StringBuilder budget = new StringBuilder();
+        tree.printTree(budget, Integer.MAX_VALUE, 3);
+        assertEquals("""
+                5
+                |-- -3
+                |   \\-- -2147483648
+                \\-- ...
+                """, budget.toString());
+
+        StringBuilder empty = new StringBuilder();
+        new BinarySearchTree().printTree(empty, 0);
+        assertEquals("(empty)\n", empty.toString());
+        assertThrows(IllegalArgumentException.class, () -> tree.printTree(new StringBuilder(), -1));
+    }
 }
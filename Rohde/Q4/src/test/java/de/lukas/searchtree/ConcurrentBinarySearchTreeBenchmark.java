@@ -0,0 +1,107 @@
+package de.lukas.searchtree;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Read scaling of {@link ConcurrentBinarySearchTree} compared to a {@link BinarySearchTree}
+ * behind one global lock. One writer thread keeps inserting and removing values while
+ * 1..N reader threads call {@code contains}. Run the {@code main} method directly.
+ */
+public class ConcurrentBinarySearchTreeBenchmark {
+    private static final int SIZE = 1_000_000;
+    private static final long DURATION_MILLIS = Long.getLong("bench.millis", 1_000);
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] values = Benchmark.randomInts(SIZE, 8);
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        Benchmark.section("contains throughput with one concurrent writer, n = " + SIZE);
+        ConcurrentBinarySearchTree concurrent = new ConcurrentBinarySearchTree();
+        BinarySearchTree locked = BinarySearchTree.bulkLoad(values);
+        for (int value : values) {
+            concurrent.insert(value);
+        }
+
+        for (int readers = 1; readers <= maxThreads; readers *= 2) {
+            long lockedReads = run(readers, value -> {
+                synchronized (locked) {
+                    return locked.contains(value);
+                }
+            }, value -> {
+                synchronized (locked) {
+                    if (!locked.remove(value)) {
+                        locked.insert(value);
+                    }
+                }
+            });
+            long concurrentReads = run(readers, concurrent::contains, value -> {
+                if (!concurrent.remove(value)) {
+                    concurrent.insert(value);
+                }
+            });
+            System.out.printf("%2d readers: synchronized %,14d reads/s   concurrent %,14d reads/s%n",
+                    readers, lockedReads * 1000 / DURATION_MILLIS, concurrentReads * 1000 / DURATION_MILLIS);
+        }
+    }
+
+    private static long run(int readers, IntPredicate read, IntConsumer write)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] counts = new long[readers];
+        Thread[] threads = new Thread[readers + 1];
+
+        for (int i = 0; i < readers; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(index);
+                long reads = 0;
+                awaitQuietly(start);
+                while (running.get()) {
+                    for (int j = 0; j < 1_000; j++) {
+                        read.test(random.nextInt());
+                    }
+                    reads += 1_000;
+                }
+                counts[index] = reads;
+            });
+        }
+        threads[readers] = new Thread(() -> {
+            SplittableRandom random = new SplittableRandom(-1);
+            awaitQuietly(start);
+            while (running.get()) {
+                write.accept(random.nextInt());
+            }
+        });
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+
+        long total = 0;
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+            if (i < readers) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package de.lukas.searchtree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentBinarySearchTreeTest {
+
+    @Test
+    void behavesLikeASortedSet() {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        Random random = new Random(5);
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                assertEquals(expected.add(value), tree.insert(value));
+            }
+        }
+
+        assertTrue(tree.isBalanced());
+        assertEquals(expected.size(), tree.size());
+        assertEquals(List.copyOf(expected), tree.inOrder());
+    }
+
+    @Test
+    void readersAlwaysSeeCompleteVersions() throws InterruptedException {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        for (int value = 0; value < 1_000; value += 2) {
+            tree.insert(value);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                // Even values are never removed, so every version must contain all of them.
+                for (int value = 0; value < 1_000; value += 2) {
+                    if (!tree.contains(value)) {
+                        failure.set("missing " + value);
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        for (int round = 0; round < 200; round++) {
+            for (int value = 1; value < 1_000; value += 2) {
+                tree.insert(value);
+            }
+            for (int value = 1; value < 1_000; value += 2) {
+                tree.remove(value);
+            }
+        }
+        running.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(500, tree.size());
+    }
+}
@@ -0,0 +1,53 @@
+package de.lukas.searchtree;
+
+import de.lukas.benchmark.Benchmark;
+
+/**
+ * Lookup throughput of {@link FrozenBinarySearchTree} against the pointer-based
+ * {@link BinarySearchTree} for growing sizes. Run the {@code main} method directly.
+ * <p>
+ * Sizes go from 1K up to {@code -Dbench.maxSize} (default 10M). 100M values need a heap
+ * of roughly 5 GB for the pointer-based tree. To count cache misses, run the class under
+ * {@code perf stat -e cache-misses,cache-references java ...} once per size.
+ * </p>
+ */
+public class FrozenBinarySearchTreeBenchmark {
+    private static final int MAX_SIZE = Integer.getInteger("bench.maxSize", 10_000_000);
+    private static final int LOOKUPS = 1_000_000;
+
+    public static void main(String[] args) {
+        int[] probes = Benchmark.randomInts(LOOKUPS, 12);
+
+        for (int size = 1_000; size <= MAX_SIZE; size *= 10) {
+            Benchmark.section("contains, n = " + size);
+            BinarySearchTree tree = BinarySearchTree.bulkLoad(Benchmark.randomInts(size, 11));
+            FrozenBinarySearchTree frozen = tree.freeze();
+            int[] existing = tree.stream().toArray();
+            int[] hits = new int[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                hits[i] = existing[Math.floorMod(probes[i], existing.length)];
+            }
+
+            Benchmark.measure("BinarySearchTree, hits", LOOKUPS, () -> count(tree, hits));
+            Benchmark.measure("FrozenBinarySearchTree, hits", LOOKUPS, () -> count(frozen, hits));
+            Benchmark.measure("BinarySearchTree, random probes", LOOKUPS, () -> count(tree, probes));
+            Benchmark.measure("FrozenBinarySearchTree, random probes", LOOKUPS, () -> count(frozen, probes));
+        }
+    }
+
+    private static long count(BinarySearchTree tree, int[] probes) {
+        long found = 0;
+        for (int probe : probes) {
+            found += tree.contains(probe) ? 1 : 0;
+        }
+        return found;
+    }
+
+    private static long count(FrozenBinarySearchTree tree, int[] probes) {
+        long found = 0;
+        for (int probe : probes) {
+            found += tree.contains(probe) ? 1 : 0;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,52 @@
+package de.lukas.searchtree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntLongTreeMapTest {
+
+    @Test
+    void putsGetsAndRemovesValues() {
+        IntLongTreeMap map = new IntLongTreeMap();
+
+        assertTrue(map.put(7, 70L));
+        assertTrue(map.put(3, 30L));
+        assertFalse(map.put(7, 700L));
+
+        assertEquals(700L, map.getOrDefault(7, -1L));
+        assertEquals(-1L, map.getOrDefault(5, -1L));
+        assertTrue(map.remove(3));
+        assertFalse(map.remove(3));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesTreeMapUnderRandomUpdates() {
+        IntLongTreeMap map = new IntLongTreeMap();
+        TreeMap<Integer, Long> expected = new TreeMap<>();
+        Random random = new Random(23);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i) == null, map.put(key, i));
+            }
+        }
+
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+        List<String> expectedEntries = new ArrayList<>();
+        expected.forEach((key, value) -> expectedEntries.add(key + "=" + value));
+
+        assertEquals(expectedEntries, entries);
+        assertTrue(map.isBalanced());
+    }
+}
@@ -0,0 +1,104 @@
+package de.lukas.searchtree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntObjectTreeMapTest {
+
+    @Test
+    void putsGetsAndRemovesValues() {
+        IntObjectTreeMap<String> map = new IntObjectTreeMap<>();
+
+        assertNull(map.put(7, "seven"));
+        assertNull(map.put(-3, "minus three"));
+        assertEquals("seven", map.put(7, "sieben"));
+        assertEquals(2, map.size());
+
+        assertEquals("sieben", map.get(7));
+        assertEquals("minus three", map.get(-3));
+        assertNull(map.get(5));
+        assertFalse(map.containsKey(5));
+
+        assertEquals("minus three", map.remove(-3));
+        assertNull(map.remove(-3));
+        assertNull(map.remove(42));
+        assertEquals(1, map.size());
+        assertEquals("sieben", map.remove(7));
+        assertTrue(map.isEmpty());
+        assertNull(map.get(7));
+    }
+
+    @Test
+    void storesNullValues() {
+        IntObjectTreeMap<String> map = new IntObjectTreeMap<>();
+
+        assertNull(map.put(1, null));
+        assertTrue(map.containsKey(1));
+        assertNull(map.get(1));
+        assertEquals(1, map.size());
+
+        assertNull(map.put(1, "one"), "the previous value was null");
+        assertEquals(1, map.size());
+        assertEquals("one", map.put(1, null));
+        assertNull(map.remove(1), "the removed value was null");
+        assertFalse(map.containsKey(1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void visitsEntriesInKeyOrder() {
+        IntObjectTreeMap<String> map = new IntObjectTreeMap<>();
+        for (int key : new int[] {5, Integer.MAX_VALUE, -1, 0, Integer.MIN_VALUE, 3}) {
+            map.put(key, "v" + key);
+        }
+
+        List<Integer> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        map.forEach((key, value) -> {
+            keys.add(key);
+            values.add(value);
+        });
+
+        assertEquals(List.of(Integer.MIN_VALUE, -1, 0, 3, 5, Integer.MAX_VALUE), keys);
+        assertEquals(List.of("v" + Integer.MIN_VALUE, "v-1", "v0", "v3", "v5", "v" + Integer.MAX_VALUE), values);
+    }
+
+    @Test
+    void matchesTreeMapUnderRandomUpdates() {
+        IntObjectTreeMap<String> map = new IntObjectTreeMap<>();
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(29);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = random.nextInt(10) == 0 ? null : "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+            if (i % 1_000 == 0) {
+                assertTrue(map.isBalanced());
+            }
+        }
+
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+        List<String> expectedEntries = new ArrayList<>();
+        expected.forEach((key, value) -> expectedEntries.add(key + "=" + value));
+
+        assertEquals(expectedEntries, entries);
+        assertTrue(map.isBalanced());
+        for (int key = -1; key <= 400; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
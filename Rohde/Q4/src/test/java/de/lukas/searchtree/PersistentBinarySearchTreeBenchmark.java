@@ -0,0 +1,64 @@
+package de.lukas.searchtree;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.lang.ref.Reference;
+
+/**
+ * Snapshot cost of {@link ConcurrentBinarySearchTree} / {@link PersistentBinarySearchTree}
+ * compared to copying a {@link BinarySearchTree}, and the memory each retained version costs.
+ * Run the {@code main} method directly.
+ */
+public class PersistentBinarySearchTreeBenchmark {
+    private static final int SIZE = 1_000_000;
+    private static final int VERSIONS = 100_000;
+
+    public static void main(String[] args) {
+        int[] values = Benchmark.randomInts(SIZE, 9);
+
+        Benchmark.section("snapshot latency, n = " + SIZE);
+        ConcurrentBinarySearchTree concurrent = new ConcurrentBinarySearchTree();
+        for (int value : values) {
+            concurrent.insert(value);
+        }
+        BinarySearchTree mutable = BinarySearchTree.bulkLoad(values);
+
+        Benchmark.measure("ConcurrentBinarySearchTree.snapshot()", 1, () -> concurrent.snapshot().size());
+        Benchmark.measure("copy via inOrder() + new tree", 1, () -> {
+            BinarySearchTree copy = new BinarySearchTree();
+            for (int value : mutable.inOrder()) {
+                copy.insert(value);
+            }
+            return copy.size();
+        });
+        Benchmark.measure("copy via stream() + bulkLoad", 1,
+                () -> BinarySearchTree.bulkLoad(mutable.stream().toArray()).size());
+
+        Benchmark.section("memory per retained version, n = " + SIZE + ", " + VERSIONS + " versions");
+        PersistentBinarySearchTree base = concurrent.snapshot();
+        PersistentBinarySearchTree[] versions = new PersistentBinarySearchTree[VERSIONS];
+        int[] extra = Benchmark.randomInts(VERSIONS, 10);
+
+        long before = usedMemory();
+        PersistentBinarySearchTree version = base;
+        for (int i = 0; i < VERSIONS; i++) {
+            version = version.insert(extra[i]);
+            versions[i] = version;
+        }
+        long after = usedMemory();
+
+        System.out.printf("%-48s %10.1f bytes/version (height %d)%n",
+                "one insert per retained version", (double) (after - before) / VERSIONS, version.height());
+        System.out.printf("%-48s %10.1f bytes/version%n",
+                "full copy per version (~32 bytes per node)", (double) version.size() * 32);
+        Reference.reachabilityFence(versions);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
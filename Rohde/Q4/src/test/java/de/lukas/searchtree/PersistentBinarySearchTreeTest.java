@@ -0,0 +1,55 @@
+package de.lukas.searchtree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentBinarySearchTreeTest {
+
+    @Test
+    void oldVersionsStayUnchanged() {
+        PersistentBinarySearchTree v1 = PersistentBinarySearchTree.of(10, 5, 15);
+        PersistentBinarySearchTree v2 = v1.insert(7).insert(20);
+        PersistentBinarySearchTree v3 = v2.remove(10);
+
+        assertEquals(List.of(5, 10, 15), v1.inOrder());
+        assertEquals(List.of(5, 7, 10, 15, 20), v2.inOrder());
+        assertEquals(List.of(5, 7, 15, 20), v3.inOrder());
+        assertTrue(v3.isBalanced());
+    }
+
+    @Test
+    void unchangedTreeIsReturnedForNoOps() {
+        PersistentBinarySearchTree tree = PersistentBinarySearchTree.of(1, 2, 3);
+
+        assertSame(tree, tree.insert(2));
+        assertSame(tree, tree.remove(42));
+        assertSame(PersistentBinarySearchTree.empty(), tree.remove(1).remove(2).remove(3));
+    }
+
+    @Test
+    void staysBalancedWithSortedInsertions() {
+        PersistentBinarySearchTree tree = PersistentBinarySearchTree.empty();
+        for (int value = 0; value < 1_000; value++) {
+            tree = tree.insert(value);
+        }
+
+        assertEquals(1_000, tree.size());
+        assertTrue(tree.isBalanced());
+        assertTrue(tree.height() <= 15);
+    }
+
+    @Test
+    void concurrentTreeSnapshotsArePointInTimeViews() {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree(1, 2, 3);
+
+        PersistentBinarySearchTree snapshot = tree.snapshot();
+        tree.insert(4);
+        tree.remove(1);
+
+        assertEquals(List.of(1, 2, 3), snapshot.inOrder());
+        assertEquals(List.of(2, 3, 4), tree.snapshot().inOrder());
+    }
+}
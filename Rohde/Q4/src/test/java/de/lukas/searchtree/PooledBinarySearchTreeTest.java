@@ -0,0 +1,61 @@
+package de.lukas.searchtree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledBinarySearchTreeTest {
+
+    @Test
+    void insertsAndFindsValues() {
+        PooledBinarySearchTree tree = new PooledBinarySearchTree();
+
+        assertTrue(tree.insert(10));
+        assertTrue(tree.insert(5));
+        assertTrue(tree.insert(15));
+        assertFalse(tree.insert(10));
+
+        assertTrue(tree.contains(5));
+        assertFalse(tree.contains(99));
+        assertEquals(3, tree.size());
+        assertEquals(List.of(5, 10, 15), tree.inOrder());
+    }
+
+    @Test
+    void growsBeyondInitialCapacityAndStaysBalanced() {
+        PooledBinarySearchTree tree = new PooledBinarySearchTree(2);
+
+        for (int value = 1; value <= 1_000; value++) {
+            tree.insert(value);
+        }
+
+        assertEquals(1_000, tree.size());
+        assertTrue(tree.isBalanced());
+        assertTrue(tree.height() <= 15);
+        assertTrue(tree.contains(1) && tree.contains(1_000));
+    }
+
+    @Test
+    void reusesSlotsOfRemovedValues() {
+        PooledBinarySearchTree tree = new PooledBinarySearchTree(100);
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(100);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), tree.insert(value));
+            } else {
+                assertEquals(expected.remove(value), tree.remove(value));
+            }
+        }
+
+        assertEquals(100, tree.capacity(), "pool must not grow while size stays below capacity");
+        assertTrue(tree.isBalanced());
+        assertEquals(List.copyOf(expected), tree.inOrder());
+    }
+}
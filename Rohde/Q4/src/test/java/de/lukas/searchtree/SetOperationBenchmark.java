@@ -0,0 +1,53 @@
+package de.lukas.searchtree;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Union, intersection and difference of two large {@link BinarySearchTree}s with 1..N worker
+ * threads, compared to inserting one tree into a copy of the other. Run the {@code main}
+ * method directly.
+ */
+public class SetOperationBenchmark {
+    private static final int SIZE = 1_000_000;
+
+    public static void main(String[] args) {
+        BinarySearchTree a = BinarySearchTree.bulkLoad(Benchmark.randomInts(SIZE, 13));
+        BinarySearchTree b = BinarySearchTree.bulkLoad(Benchmark.randomInts(SIZE, 14));
+
+        Benchmark.section("union baseline, n = m = " + SIZE);
+        Benchmark.measure("copy a + insert every value of b", SIZE, () -> {
+            BinarySearchTree result = BinarySearchTree.bulkLoad(a.stream().toArray());
+            PrimitiveIterator.OfInt values = b.iterator();
+            while (values.hasNext()) {
+                result.insert(values.nextInt());
+            }
+            return result.size();
+        });
+
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Benchmark.section("split/join set operations, " + threads + " thread(s)");
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                Benchmark.measure("union", SIZE, () -> invoke(pool, () -> a.union(b)));
+                Benchmark.measure("intersection", SIZE, () -> invoke(pool, () -> a.intersection(b)));
+                Benchmark.measure("difference", SIZE, () -> invoke(pool, () -> a.difference(b)));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static long invoke(ForkJoinPool pool, Callable<BinarySearchTree> operation) {
+        try {
+            return pool.submit(operation).get().size();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package de.lukas.searchtree;
+
+import de.lukas.benchmark.Benchmark;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link AvlTreeMap}, {@link IntLongTreeMap} and {@link IntObjectTreeMap} against
+ * {@link java.util.TreeMap} for put, get and in-order iteration. Run the {@code main} method directly.
+ */
+public class TreeMapBenchmark {
+    private static final int SIZE = 1_000_000;
+
+    public static void main(String[] args) {
+        int[] keys = Benchmark.randomInts(SIZE, 15);
+
+        Benchmark.section("put, n = " + SIZE);
+        Benchmark.measure("java.util.TreeMap<Integer, Long>", SIZE, () -> {
+            TreeMap<Integer, Long> map = new TreeMap<>();
+            for (int key : keys) {
+                map.put(key, (long) key);
+            }
+            return map.size();
+        });
+        Benchmark.measure("AvlTreeMap<Integer, Long>", SIZE, () -> {
+            AvlTreeMap<Integer, Long> map = new AvlTreeMap<>();
+            for (int key : keys) {
+                map.put(key, (long) key);
+            }
+            return map.size();
+        });
+        Benchmark.measure("IntLongTreeMap", SIZE, () -> {
+            IntLongTreeMap map = new IntLongTreeMap();
+            for (int key : keys) {
+                map.put(key, key);
+            }
+            return map.size();
+        });
+        Benchmark.measure("IntObjectTreeMap<String>", SIZE, () -> {
+            IntObjectTreeMap<String> map = new IntObjectTreeMap<>();
+            for (int key : keys) {
+                map.put(key, "");
+            }
+            return map.size();
+        });
+
+        TreeMap<Integer, Long> treeMap = new TreeMap<>();
+        AvlTreeMap<Integer, Long> avlMap = new AvlTreeMap<>();
+        IntLongTreeMap intLongMap = new IntLongTreeMap();
+        for (int key : keys) {
+            treeMap.put(key, (long) key);
+            avlMap.put(key, (long) key);
+            intLongMap.put(key, key);
+        }
+
+        Benchmark.section("get, n = " + SIZE);
+        Benchmark.measure("java.util.TreeMap<Integer, Long>", SIZE, () -> {
+            long sum = 0;
+            for (int key : keys) {
+                sum += treeMap.get(key);
+            }
+            return sum;
+        });
+        Benchmark.measure("AvlTreeMap<Integer, Long>", SIZE, () -> {
+            long sum = 0;
+            for (int key : keys) {
+                sum += avlMap.get(key);
+            }
+            return sum;
+        });
+        Benchmark.measure("IntLongTreeMap", SIZE, () -> {
+            long sum = 0;
+            for (int key : keys) {
+                sum += intLongMap.getOrDefault(key, 0L);
+            }
+            return sum;
+        });
+
+        Benchmark.section("in-order iteration, n = " + treeMap.size());
+        Benchmark.measure("java.util.TreeMap<Integer, Long>", treeMap.size(), () -> {
+            long sum = 0;
+            for (Map.Entry<Integer, Long> entry : treeMap.entrySet()) {
+                sum += entry.getKey() + entry.getValue();
+            }
+            return sum;
+        });
+        Benchmark.measure("AvlTreeMap<Integer, Long>", treeMap.size(), () -> {
+            long[] sum = new long[1];
+            avlMap.forEach((key, value) -> sum[0] += key + value);
+            return sum[0];
+        });
+        Benchmark.measure("IntLongTreeMap", treeMap.size(), () -> {
+            long[] sum = new long[1];
+            intLongMap.forEach((key, value) -> sum[0] += key + value);
+            return sum[0];
+        });
+    }
+}